@@ -0,0 +1,134 @@
+package com.andronikus.animation4j.benchmark;
+
+import com.andronikus.animation4j.animation.LevelOfDetail;
+import com.andronikus.animation4j.animation.scenario.QwertyAnimationController;
+import com.andronikus.animation4j.featuredemo.interruption.RetractablePusher;
+import com.andronikus.animation4j.featuredemo.interruption.RetractablePusherAnimationController;
+import com.andronikus.animation4j.rig.graphics.OffscreenGraphicsContext;
+import com.andronikus.animation4j.stopmotion.scenario.QwertyState;
+import com.andronikus.animation4j.util.RenderRatio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of playing key frame animations, from the state machine through {@code Animation.nextRender} down to the
+ * rig render.
+ *
+ * @author Andronikus
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class AnimationBenchmark {
+
+    private static final int WIDTH = 1600;
+    private static final int HEIGHT = 900;
+
+    private final Object context = new Object();
+
+    private OffscreenGraphicsContext canvas;
+    private QwertyState qwertyState;
+    private QwertyAnimationController qwertyController;
+    private RetractablePusher pusher;
+    private RetractablePusherAnimationController pusherController;
+    private RetractablePusher interpolatedPusher;
+    private RetractablePusherAnimationController interpolatedController;
+    private RetractablePusher backgroundPusher;
+    private RetractablePusherAnimationController backgroundController;
+    private long ticks;
+
+    /**
+     * Build the controllers being benchmarked.
+     */
+    @Setup
+    public void setUp() {
+        canvas = new OffscreenGraphicsContext(WIDTH, HEIGHT);
+        qwertyState = new QwertyState();
+        qwertyController = new QwertyAnimationController(qwertyState);
+        pusher = new RetractablePusher();
+        pusherController = new RetractablePusherAnimationController(pusher);
+        interpolatedPusher = new RetractablePusher();
+        interpolatedController = new RetractablePusherAnimationController(interpolatedPusher);
+        interpolatedController.enableInterpolation();
+        backgroundPusher = new RetractablePusher();
+        backgroundController = new RetractablePusherAnimationController(backgroundPusher);
+        backgroundController.setScreenDimensions(RenderRatio.DEFAULT_RESOLUTION_WIDTH / 5, RenderRatio.DEFAULT_RESOLUTION_HEIGHT / 5);
+        backgroundController.setLevelsOfDetail(
+            new LevelOfDetail(0.25).withUpdateInterval(4).withPrerenderedSprite(880, 450).withSpriteRefreshInterval(8),
+            new LevelOfDetail(0.5).withUpdateInterval(2).withoutSizeChannels().withMinimumLimbPixels(4)
+        );
+        ticks = 0;
+    }
+
+    /**
+     * Release the canvas.
+     */
+    @TearDown
+    public void tearDown() {
+        canvas.dispose();
+    }
+
+    /**
+     * Render the next frame of the QWERTY animation.
+     */
+    @Benchmark
+    public void qwertyRenderNext() {
+        qwertyController.renderNext(canvas, context, qwertyState, 400, 400, 0);
+    }
+
+    /**
+     * Render the next frame of the retractable pusher animation, extending and retracting it periodically so that
+     * transitions are a part of the measurement.
+     */
+    @Benchmark
+    public void pusherRenderNext() {
+        pusher.setExtending((ticks++ / 100) % 2 == 0);
+        pusherController.renderNext(canvas, context, pusher, 800, 400, 0);
+    }
+
+    /**
+     * Render the retractable pusher between fixed rate updates, updating once every five renders as when rendering at
+     * 150 Hz and updating at 30 Hz.
+     */
+    @Benchmark
+    public void pusherRenderInterpolated() {
+        final long tick = ticks++;
+        if (tick % 5 == 0) {
+            interpolatedPusher.setExtending((tick / 500) % 2 == 0);
+            interpolatedController.update(context, interpolatedPusher);
+        }
+        interpolatedController.renderInterpolated(canvas, 800, 400, 0, (tick % 5) / 5.0);
+    }
+
+    /**
+     * Catch the retractable pusher up on two seconds of ticks at 60 Hz, as after a long pause, and render the result.
+     */
+    @Benchmark
+    public void pusherCatchUp() {
+        pusher.setExtending((ticks++ / 10) % 2 == 0);
+        pusherController.advance(context, pusher, 120);
+        pusherController.render(canvas, 800, 400, 0);
+    }
+
+    /**
+     * Render the next frame of a retractable pusher drawn small in the background, at a level of detail that poses it
+     * every fourth frame and draws it as a prerendered sprite, refreshed every eighth pose.
+     */
+    @Benchmark
+    public void pusherBackgroundRenderNext() {
+        backgroundPusher.setExtending((ticks++ / 100) % 2 == 0);
+        backgroundController.renderNext(canvas, context, backgroundPusher, 800, 400, 0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.andronikus.animation4j.benchmark;
+
+import com.andronikus.animation4j.animation.AnimationBatch;
+import com.andronikus.animation4j.featuredemo.interruption.RetractablePusher;
+import com.andronikus.animation4j.featuredemo.interruption.RetractablePusherAnimationController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of updating a crowd of animated entities, one after another and in parallel.
+ *
+ * @author Andronikus
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchUpdateBenchmark {
+
+    private static final int ENTITY_COUNT = 4096;
+
+    private final Object context = new Object();
+
+    private RetractablePusher[] pushers;
+    private RetractablePusherAnimationController[] controllers;
+    private AnimationBatch<Object, RetractablePusher> batch;
+    private long ticks;
+
+    /**
+     * Build the crowd being benchmarked.
+     */
+    @Setup
+    public void setUp() {
+        pushers = new RetractablePusher[ENTITY_COUNT];
+        controllers = new RetractablePusherAnimationController[ENTITY_COUNT];
+        batch = new AnimationBatch<>();
+        for (int entityIndex = 0; entityIndex < ENTITY_COUNT; entityIndex++) {
+            pushers[entityIndex] = new RetractablePusher();
+            controllers[entityIndex] = new RetractablePusherAnimationController(pushers[entityIndex]);
+            batch.withEntity(controllers[entityIndex], pushers[entityIndex]);
+        }
+        ticks = 0;
+    }
+
+    /**
+     * Update every entity on the benchmark thread.
+     */
+    @Benchmark
+    public void serialUpdate() {
+        toggleExtending();
+        for (int entityIndex = 0; entityIndex < ENTITY_COUNT; entityIndex++) {
+            controllers[entityIndex].update(context, pushers[entityIndex]);
+        }
+    }
+
+    /**
+     * Update every entity across the common fork join pool.
+     */
+    @Benchmark
+    public void parallelUpdate() {
+        toggleExtending();
+        batch.update(context);
+    }
+
+    /**
+     * Extend and retract every other entity periodically, so that transitions are a part of the measurement.
+     */
+    private void toggleExtending() {
+        final boolean extending = (ticks++ / 100) % 2 == 0;
+        for (int entityIndex = 0; entityIndex < ENTITY_COUNT; entityIndex += 2) {
+            pushers[entityIndex].setExtending(extending);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.andronikus.animation4j.benchmark;
+
+import com.andronikus.animation4j.rig.RigTemplate;
+import com.andronikus.animation4j.rig.graphics.OffscreenGraphicsContext;
+import com.andronikus.animation4j.rig.scenario.QwertyAnimationRig;
+import com.andronikus.animation4j.stopmotion.scenario.QwertyState;
+import com.andronikus.animation4j.util.RenderRatio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of rendering a rig as it is posed, without any animation driving it.
+ *
+ * @author Andronikus
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class RigRenderBenchmark {
+
+    private static final int WIDTH = 1600;
+    private static final int HEIGHT = 900;
+
+    private final Object context = new Object();
+    private final RenderRatio scaledRatio = new RenderRatio(800, 450, WIDTH, HEIGHT);
+
+    private OffscreenGraphicsContext canvas;
+    private QwertyState qwertyState;
+    private QwertyAnimationRig rig;
+    private double[] solved;
+
+    /**
+     * Build the rig being benchmarked.
+     */
+    @Setup
+    public void setUp() {
+        canvas = new OffscreenGraphicsContext(WIDTH, HEIGHT);
+        qwertyState = new QwertyState();
+        rig = new QwertyAnimationRig(qwertyState);
+        solved = new double[rig.getTemplate().getLimbCount() * RigTemplate.SOLVED_STRIDE];
+    }
+
+    /**
+     * Release the canvas.
+     */
+    @TearDown
+    public void tearDown() {
+        canvas.dispose();
+    }
+
+    /**
+     * Render the rig at its intended size.
+     */
+    @Benchmark
+    public void renderFromCenter() {
+        rig.renderFromCenter(canvas, context, qwertyState, 400, 400, Math.PI / 4);
+    }
+
+    /**
+     * Render the rig scaled to a larger resolution.
+     */
+    @Benchmark
+    public void renderFromCenterScaled() {
+        rig.renderFromCenter(canvas, context, qwertyState, 400, 400, Math.PI / 4, scaledRatio);
+    }
+
+    /**
+     * Work out where the limbs of the rig are without rendering it.
+     *
+     * @return The solved limbs
+     */
+    @Benchmark
+    public double[] solveFromCenter() {
+        rig.solveFromCenter(400, 400, Math.PI / 4, scaledRatio, solved, 0);
+        return solved;
+    }
+}
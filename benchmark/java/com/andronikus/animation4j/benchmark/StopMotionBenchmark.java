@@ -0,0 +1,101 @@
+package com.andronikus.animation4j.benchmark;
+
+import com.andronikus.animation4j.stopmotion.StopMotionState;
+import com.andronikus.animation4j.stopmotion.scenario.QwertyHeadSpriteSheet;
+import com.andronikus.animation4j.stopmotion.scenario.QwertyHeadStopMotionController;
+import com.andronikus.animation4j.stopmotion.scenario.QwertyState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of stop motion: sprite sheet lookups, a single stop motion state and the state machine choosing states.
+ *
+ * @author Andronikus
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class StopMotionBenchmark {
+
+    private final Object context = new Object();
+
+    private QwertyState qwertyState;
+    private QwertyHeadSpriteSheet spriteSheet;
+    private QwertyHeadStopMotionController controller;
+    private StopMotionState<Object, QwertyState, QwertyHeadSpriteSheet> idleState;
+    private long ticks;
+
+    /**
+     * Build the fixtures being benchmarked.
+     */
+    @Setup
+    public void setUp() {
+        qwertyState = new QwertyState();
+        controller = new QwertyHeadStopMotionController();
+        spriteSheet = new QwertyHeadSpriteSheet();
+        idleState = new StopMotionState<>(controller)
+            .addFrame(40L, QwertyHeadSpriteSheet::getIdleSprite)
+            .addFrame(3L, QwertyHeadSpriteSheet::getIdleSprite)
+            .addFrame(2L, QwertyHeadSpriteSheet::getIdleSprite)
+            .addFrame(1L, QwertyHeadSpriteSheet::getIdleSprite)
+            .addFrame(2L, QwertyHeadSpriteSheet::getIdleSprite)
+            .addFrame(3L, QwertyHeadSpriteSheet::getIdleSprite);
+        ticks = 0;
+    }
+
+    /**
+     * Look up a tile of a sprite sheet.
+     *
+     * @return The tile
+     */
+    @Benchmark
+    public BufferedImage spriteSheetGetTile() {
+        return spriteSheet.getIdleSprite((int) (ticks++ % 6));
+    }
+
+    /**
+     * Get the next sprite of a stop motion state that is never transitioned off of.
+     *
+     * @return The sprite
+     */
+    @Benchmark
+    public BufferedImage stateNextSprite() {
+        return idleState.nextSprite(spriteSheet, ticks++);
+    }
+
+    /**
+     * Spawn a controller. Its state graph is shared with every other controller of its class, so this is only the
+     * controller and its sprite sheet.
+     *
+     * @return The controller
+     */
+    @Benchmark
+    public QwertyHeadStopMotionController createController() {
+        return new QwertyHeadStopMotionController();
+    }
+
+    /**
+     * Get the next sprite through the state machine, toggling the state of the entity so that transitions fire.
+     *
+     * @return The sprite
+     */
+    @Benchmark
+    public BufferedImage controllerNextAction() {
+        final long phase = (ticks++ / 60) % 4;
+        qwertyState.setQwertySad(phase == 1);
+        qwertyState.setQwertyHappy(phase == 3);
+        return controller.nextSprite(context, qwertyState);
+    }
+}
@@ -1,7 +1,5 @@
 package com.andronikus.animation4j.animation;
 
-import com.andronikus.animation4j.rig.AnimationJoint;
-import com.andronikus.animation4j.rig.AnimationLimb;
 import com.andronikus.animation4j.rig.AnimationRig;
 import com.andronikus.animation4j.rig.graphics.GraphicsContext;
 import com.andronikus.animation4j.statemachine.State;
@@ -9,14 +7,15 @@ import com.andronikus.animation4j.util.Pair;
 import com.andronikus.animation4j.util.RenderRatio;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.BiFunction;
 
 /**
- * An animation that controls joints and other states on an {@link AnimationRig}.
+ * An animation that controls joints and other states on an {@link AnimationRig}. The rig an animation is built with is
+ * only used to look up its joints, and is let go of once the animation is finalized. Animations are rendered onto whichever rig, of the same structure, their controller
+ * gives, so the animations of a controller can be shared by controllers.
  *
  * @param <CONTEXT_PROVIDER> Type of object that provides greater context
  * @param <ANIMATION_TYPE> Type of object that is being animated
@@ -30,13 +29,14 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
 
     // Structure and link variables
     private AnimationRig<CONTEXT_PROVIDER, ANIMATION_TYPE> rig;
-    // Map of joints to their keyframe and total duration.
-    private Map<AnimationJoint, Pair<Long, List<KeyFrame>>> keyFrames = new HashMap<>();
-    private Map<AnimationJoint, AnimationKeyFrameState> activeFrames = new HashMap<>();
+    // Map of joint IDs to their keyframe and total duration.
+    private Map<Short, Pair<Long, List<KeyFrame>>> keyFrames = new LinkedHashMap<>();
     private List<Pair<Long, Double>> rootRotationFrames = new ArrayList<>();
     private long rootRotationTotalDuration = 0L;
+    // Key frames compiled on finalization, or supplied already compiled, and the joints of the rig they apply to
+    private AnimationClip clip;
+    private int[] clipLimbIndices;
 
-    private long ticksOnAnimation = 0L;
     private boolean finalized = false;
 
     /**
@@ -46,6 +46,19 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
      */
     Animation () {}
 
+    /**
+     * Render the animation onto a rig at the tick of a cursor. The cursor is not moved.
+     *
+     * @param graphics The graphics to render to
+     * @param contextObject Greater context object
+     * @param animatedEntity Object being animated
+     * @param centerX The X of the center of the animation
+     * @param centerY The Y of the center of the animation
+     * @param rotation How much should this animation be rotated by?
+     * @param renderRatio The render ratio
+     * @param targetRig The rig to pose and render, of the same structure as the rig the animation was built with
+     * @param cursor The playback position, with room for the joints of the clip
+     */
     public void nextRender(
         GraphicsContext graphics,
         CONTEXT_PROVIDER contextObject,
@@ -53,142 +66,58 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
         int centerX,
         int centerY,
         double rotation,
-        RenderRatio renderRatio
+        RenderRatio renderRatio,
+        AnimationRig<CONTEXT_PROVIDER, ANIMATION_TYPE> targetRig,
+        AnimationCursor cursor
     ) {
-        if (!finalized) {
-            throw new IllegalStateException("Cannot render animation that is not finalized.");
-        }
-        activeFrames.forEach((joint, frameState) -> {
-            final Pair<Long, List<KeyFrame>> frameAndDurationPairing = keyFrames.get(joint);
-            final long totalDuration = frameAndDurationPairing.getFirst();
-            final List<KeyFrame> frames = frameAndDurationPairing.getSecond();
-
-            KeyFrame current = frameState.getActiveFrame();
-
-            /*
-             * If the following is true:
-             *  -The duration of the current is not null (ie, there is a subsequent frame)
-             *  -One of the following axioms for expiration of the current frame is satisfied:
-             *     ~The ticks on this cycle of the animation has gone past how long we should be on this frame
-             *     ~The ticks have completed an entire cycle
-             *
-             * When true, transition the current frame to the next frame.
-             */
-            if (current.getDuration() != null &&
-                ((ticksOnAnimation % totalDuration) - frameState.getTickCounter() >= current.getDuration() ||
-                 (ticksOnAnimation % totalDuration == 0 && ticksOnAnimation > 0) )) {
-
-                frameState.setTickCounter((frameState.getTickCounter() + current.getDuration()) % totalDuration);
-                frameState.setFrameIndex((frameState.getFrameIndex() + 1) % frames.size());
-                frameState.setActiveFrame(frameState.getNextFrame());
-                frameState.setNextFrame(frames.get((frameState.getFrameIndex() + 1) % frames.size()));
-                frameState.setRenderedFirstFrame(false);
-
-                current = frameState.getActiveFrame();
-            }
+        // TODO deprecate this. Technically, this can be achieved by using a blank joint as the root limb.
+        final double rigRotation = rotation + applyPose(targetRig, cursor);
 
-            KeyFrame target = null;
-            if (current.getDuration() != null) {
-                target = frameState.getNextFrame();
-            }
+        targetRig.renderFromCenter(graphics, contextObject, animatedEntity, centerX, centerY, rigRotation, renderRatio);
+    }
 
-            joint.getLimb().setReflectX(current.isReflectX());
-            joint.getLimb().setReflectY(current.isReflectY());
-
-            // TODO Snap-To is useless since we automatically snap to this animation from previous animation. 
-            if ((current.isSnapTo() && !frameState.isRenderedFirstFrame()) ||
-                current.getDuration() == null) {
-                joint.setRotation(current.getJointRotation());
-                joint.getLimb().stateAccessor().setWidthChange(current.getWidthChange());
-                joint.getLimb().stateAccessor().setHeightChange(current.getHeightChange());
-                joint.stateAccessor().setFulcrumDistanceMultiplier(current.getFulcrumDistanceMultiplier());
-            } else {
-                // Calculate the percentage of the keyframe that is currently covered
-                final long ticksOnKeyFrame = (ticksOnAnimation % totalDuration) - frameState.getTickCounter();
-                final double percentageCovered = ((double) ticksOnKeyFrame) / ((double) current.getDuration());
-
-                // Handle the rotation of the joint
-                final double rotationDelta = target.getJointRotation() - current.getJointRotation();
-                final double nextJointRotation = current.getJointRotation() + (rotationDelta * percentageCovered);
-                joint.setRotation(nextJointRotation);
-
-                // Handle the width of the limb
-                final double widthChangeDelta = target.getWidthChange() - current.getWidthChange();
-                final int nextJointWidthChange = current.getWidthChange() + (int) (widthChangeDelta * percentageCovered);
-                joint.getLimb().stateAccessor().setWidthChange(nextJointWidthChange);
-
-                // Handle the height of the limb
-                final double heightChangeDelta = target.getHeightChange() - current.getHeightChange();
-                final int nextJointHeightChange = current.getHeightChange() + (int) (heightChangeDelta * percentageCovered);
-                joint.getLimb().stateAccessor().setHeightChange(nextJointHeightChange);
-
-                // Handle the fulcrum distance multiplier
-                final double fulcrumDistanceMultiplierDelta = target.getFulcrumDistanceMultiplier() - current.getFulcrumDistanceMultiplier();
-                final double nextFulcrumDistanceMultiplier = current.getFulcrumDistanceMultiplier() + (fulcrumDistanceMultiplierDelta * percentageCovered);
-                joint.stateAccessor().setFulcrumDistanceMultiplier(nextFulcrumDistanceMultiplier);
-            }
+    /**
+     * Pose a rig as the animation is at the tick of a cursor, without rendering it. The cursor is not moved.
+     *
+     * @param targetRig The rig to pose, of the same structure as the rig the animation was built with
+     * @param cursor The playback position, with room for the joints of the clip
+     * @return Rotation of the whole rig from rotational key frames, to be added when rendering
+     */
+    public double applyPose(AnimationRig<CONTEXT_PROVIDER, ANIMATION_TYPE> targetRig, AnimationCursor cursor) {
+        return applyPose(targetRig, cursor, true);
+    }
 
-            frameState.setRenderedFirstFrame(true);
-        });
-        // TODO deprecate this. Technically, this can be achieved by using a blank joint as the root limb.
-        double rigRotation = rotation;
-        if (!rootRotationFrames.isEmpty()) {
-            if (rootRotationFrames.get(rootRotationFrames.size() - 1).getFirst() == null &&
-                ticksOnAnimation >= rootRotationTotalDuration) {
-                rigRotation += rootRotationFrames.get(rootRotationFrames.size() - 1).getSecond();
-            } else {
-                // Find the frame that we are currently on.
-                long rotationFrameCounter = ticksOnAnimation % rootRotationTotalDuration;
-                long frameCounter = 0L;
-                int frameIndexCounter = 0;
-
-                double currentRotation = 0;
-                double targetRotation = 0;
-                Long currentDuration = null;
-
-                while (frameCounter > rotationFrameCounter) {
-                    currentRotation = rootRotationFrames.get(frameIndexCounter).getSecond();
-                    currentDuration = rootRotationFrames.get(frameIndexCounter).getFirst();
-                    targetRotation = rootRotationFrames.get((frameIndexCounter + 1) % rootRotationFrames.size()).getSecond();
-
-                    frameCounter += rootRotationFrames.get(frameIndexCounter).getFirst();
-                    frameIndexCounter++;
-                }
-
-                double additionalRotation = 0.0;
-                additionalRotation = currentRotation;
-                // Given frame and next frame, find what current rotation is
-                if (currentDuration != null) {
-                    double rotationRatio = (double)(rotationFrameCounter - frameCounter) / (double)currentDuration;
-                    double rotationDiff = targetRotation - currentRotation;
-                    additionalRotation += rotationDiff * rotationRatio;
-                }
-                rigRotation += additionalRotation;
-            }
+    /**
+     * Pose a rig as the animation is at the tick of a cursor, optionally leaving out the width, height and fulcrum
+     * distance channels. The cursor is not moved.
+     *
+     * @param targetRig The rig to pose, of the same structure as the rig the animation was built with
+     * @param cursor The playback position, with room for the joints of the clip
+     * @param posesSizes Whether the width, height and fulcrum distance channels are posed
+     * @return Rotation of the whole rig from rotational key frames, to be added when rendering
+     */
+    public double applyPose(AnimationRig<CONTEXT_PROVIDER, ANIMATION_TYPE> targetRig, AnimationCursor cursor, boolean posesSizes) {
+        if (!finalized) {
+            throw new IllegalStateException("Cannot render animation that is not finalized.");
         }
-
-        rig.renderFromCenter(graphics, contextObject, animatedEntity, centerX, centerY, rigRotation, renderRatio);
-        ticksOnAnimation++;
+        clip.apply(targetRig.getPose(), clipLimbIndices, cursor, posesSizes);
+        return clip.rootRotation(cursor);
     }
 
     /**
-     * {@inheritDoc}
+     * Pose a rig as it would be at a tick of the animation, without affecting the playback of the animation. Rotation
+     * from rotational key frames is not a part of the pose, it is only applied when rendering.
+     *
+     * @param targetRig The rig to pose, of the same structure as the rig the animation was built with
+     * @param tick The tick to pose the rig at
      */
-    @Override
-    public void transitionTo() {
+    public void sampleAt(AnimationRig<CONTEXT_PROVIDER, ANIMATION_TYPE> targetRig, long tick) {
         if (!finalized) {
-            throw new IllegalStateException("Cannot transition to animation that is not finalized.");
+            throw new IllegalStateException("Cannot sample animation that is not finalized.");
         }
-        keyFrames.keySet().forEach(key -> {
-            final AnimationKeyFrameState state = new AnimationKeyFrameState();
-            final List<KeyFrame> frames = keyFrames.get(key).getSecond();
-            state.setFrameIndex(0);
-            state.setTickCounter(0L);
-            state.setActiveFrame(frames.get(0));
-            state.setNextFrame(frames.get(1));
-            activeFrames.put(key, state);
-        });
-        ticksOnAnimation = 0L;
+        final AnimationCursor sampleCursor = clip.createCursor();
+        clip.seek(sampleCursor, tick);
+        clip.apply(targetRig.getPose(), clipLimbIndices, sampleCursor);
     }
 
     /**
@@ -202,16 +131,53 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
         }
         Objects.requireNonNull(rig, "Animation rig must be set before Animation is finalized");
 
-        keyFrames.forEach((joint, pairings) -> {
+        keyFrames.forEach((jointId, pairings) -> {
             if (pairings.getSecond().size() < 2) {
                 throw new IllegalStateException("For each joint where a keyframe exists in an animation, there must be at least two keyframes.");
             }
         });
 
+        if (clip == null) {
+            clip = new AnimationClip(keyFrames, rootRotationFrames, rootRotationTotalDuration);
+        }
+        clipLimbIndices = clip.bindTo(rig.getTemplate());
+
+        // The build structures are no longer needed now that they are compiled. Neither is the rig, which shared state
+        // graphs would otherwise keep from being collected along with its controller.
+        keyFrames = null;
+        rootRotationFrames = null;
+        rig = null;
         finalized = true;
         return this;
     }
 
+    /**
+     * Play an already compiled clip rather than building key frames. Since a clip is immutable, one clip can be shared
+     * by the animations of every entity whose rig has joints with the clip's joint IDs.
+     *
+     * @param clip The clip
+     * @return Self
+     */
+    public Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> withClip(AnimationClip clip) {
+        if (finalized) {
+            throw new IllegalStateException("Clip cannot be set after animation finalization.");
+        }
+        if (!keyFrames.isEmpty() || !rootRotationFrames.isEmpty()) {
+            throw new IllegalStateException("Clip cannot be set on an animation that has key frames.");
+        }
+        this.clip = Objects.requireNonNull(clip, "clip must not be null.");
+        return this;
+    }
+
+    /**
+     * Get the compiled key frames of this animation. Available once the animation has been finalized.
+     *
+     * @return The clip
+     */
+    public AnimationClip getClip() {
+        return clip;
+    }
+
     /**
      * Set the animation rig this animation controls.
      *
@@ -239,7 +205,7 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
      */
     @Override
     public Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> createTransition(
-        BiFunction<CONTEXT_PROVIDER, ANIMATION_TYPE, Boolean> condition,
+        TransitionCondition<CONTEXT_PROVIDER, ANIMATION_TYPE> condition,
         Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> nextAnimation
     ) {
         if (finalized) {
@@ -253,7 +219,7 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
      */
     @Override
     public Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> createTransition(
-        BiFunction<CONTEXT_PROVIDER, ANIMATION_TYPE, Boolean> condition,
+        TransitionCondition<CONTEXT_PROVIDER, ANIMATION_TYPE> condition,
         boolean interruptible,
         Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> nextAnimation
     ) {
@@ -263,6 +229,35 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
         return super.createTransition(condition, interruptible, nextAnimation);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> createTransition(
+        CycleCompletionCondition<CONTEXT_PROVIDER, ANIMATION_TYPE> cycleCompletion,
+        Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> nextAnimation
+    ) {
+        if (finalized) {
+            throw new IllegalStateException("Transition cannot be created after animation finalization.");
+        }
+        return super.createTransition(cycleCompletion, nextAnimation);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> createTransition(
+        CycleCompletionCondition<CONTEXT_PROVIDER, ANIMATION_TYPE> cycleCompletion,
+        boolean interruptible,
+        Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> nextAnimation
+    ) {
+        if (finalized) {
+            throw new IllegalStateException("Transition cannot be created after animation finalization.");
+        }
+        return super.createTransition(cycleCompletion, interruptible, nextAnimation);
+    }
+
     /**
      * Add a key frame that controls the overall rotation of the rig.
      *
@@ -271,6 +266,12 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
      * @return Self
      */
     public Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> withRotationalKeyFrame(Long duration, double rotation) {
+        if (finalized) {
+            throw new IllegalStateException("Rotational key frame cannot be added after animation finalization.");
+        }
+        if (clip != null) {
+            throw new IllegalStateException("Rotational key frame cannot be added to an animation playing a clip.");
+        }
         // Quickly ensure that there is not more than one Null duration frame
         if (rootRotationFrames.stream().anyMatch(durationAndRotationPair -> durationAndRotationPair.getFirst() == null)) {
             throw new IllegalStateException("Cannot add a rotation frame since one already exists with a null duration.");
@@ -290,6 +291,9 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
      * @return The key frame builder
      */
     public KeyFrameBuilder keyFrameBuilder() {
+        if (finalized) {
+            throw new IllegalStateException("Key frame cannot be added after animation finalization.");
+        }
         final KeyFrameBuilder builder = new KeyFrameBuilder();
         builder.parent = this;
         builder.frame = new KeyFrame();
@@ -300,9 +304,16 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
      * {@inheritDoc}
      */
     @Override
-    protected boolean atleastOneCycleFinished() {
-        return ticksOnAnimation > rootRotationTotalDuration &&
-            keyFrames.entrySet().stream().allMatch(pair -> ticksOnAnimation > pair.getValue().getFirst());
+    protected boolean atleastOneCycleFinished(long ticksOnState) {
+        return clip.isCycleFinished(ticksOnState);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long ticksUntilCycleFinished(long ticksOnState) {
+        return clip.ticksUntilCycleFinished(ticksOnState);
     }
 
     /**
@@ -312,8 +323,7 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
         private Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> parent;
         private KeyFrame frame;
         private short jointId;
-        private AnimationJoint<CONTEXT_PROVIDER, ANIMATION_TYPE> joint;
-        private AnimationLimb<CONTEXT_PROVIDER, ANIMATION_TYPE> limb;
+        private int limbIndex = -1;
 
         /**
          * Set the joint that this keyframe is for.
@@ -323,8 +333,7 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
          */
         public KeyFrameBuilder withJoint(short jointId) {
             this.jointId = jointId;
-            joint = rig.jointForId(jointId);
-            limb = joint.getLimb();
+            limbIndex = rig.getTemplate().limbIndexForJointId(jointId);
             return this;
         }
 
@@ -425,33 +434,34 @@ public class Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> extends State<
             if (finalized) {
                 throw new IllegalStateException("Key frame cannot be added after animation finalization.");
             }
-            if (joint == null) {
-                throw new IllegalArgumentException("No joint for ID " + jointId + ".");
+            if (clip != null) {
+                throw new IllegalStateException("Key frame cannot be added to an animation playing a clip.");
             }
-            // Redundant since every joint should have a limb it goes to, but never hurts
-            if (limb == null) {
-                throw new IllegalArgumentException("The joint for ID " + jointId + " has no limb.");
+            if (limbIndex < 0) {
+                throw new IllegalArgumentException("No joint for ID " + jointId + ".");
             }
+            final int limbWidth = rig.getTemplate().getWidth(limbIndex);
+            final int limbHeight = rig.getTemplate().getHeight(limbIndex);
             /*
              * If the width change is LESS than the negative width of the limb, disallow it.
              * This is probably a pretty unnecessary constraint, but a precaution.
              * TODO When it's been tested, this can be removed.
              * TODO can also be subverted, but it's a nice gesture
              */
-            if ((frame.getWidthChange() < 0 && frame.getWidthChange() <= -limb.getWidth()) || (frame.getWidthChange() > 0 && frame.getWidthChange() >= -limb.getWidth())) {
+            if ((frame.getWidthChange() < 0 && frame.getWidthChange() <= -limbWidth) || (frame.getWidthChange() > 0 && frame.getWidthChange() >= -limbWidth)) {
                 throw new IllegalArgumentException("The width change of the frame is larger than the negative width of the limb.");
             }
-            if ((frame.getHeightChange() < 0 && frame.getHeightChange() <= -limb.getHeight()) || (frame.getHeightChange() > 0 && frame.getHeightChange() >= -limb.getHeight())) {
+            if ((frame.getHeightChange() < 0 && frame.getHeightChange() <= -limbHeight) || (frame.getHeightChange() > 0 && frame.getHeightChange() >= -limbHeight)) {
                 throw new IllegalArgumentException("The height change of the frame is larger than the negative width of the limb.");
             }
 
             // First up, see if there is an entry for the joint.
-            Pair<Long, List<KeyFrame>> pairings = keyFrames.get(joint);
+            Pair<Long, List<KeyFrame>> pairings = keyFrames.get(jointId);
 
             // Create and add pairing for this joint if it's not there yet
             if (pairings == null) {
                 pairings = new Pair<>(0L, new ArrayList<>());
-                keyFrames.put(joint, pairings);
+                keyFrames.put(jointId, pairings);
             }
 
             // Ensure that a new frame is allowed
@@ -0,0 +1,162 @@
+package com.andronikus.animation4j.animation;
+
+import com.andronikus.animation4j.rig.graphics.GraphicsContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Batch of animated entities that are updated in parallel and then rendered one after another. Updating, which chooses
+ * animations and poses rigs, is split across a fork join pool. Rendering stays on the calling thread, since graphics
+ * are not safe to draw on from several threads.
+ *
+ * Every controller in a batch must have its own rig and image providers, and must not be added to the batch twice. The
+ * context object is shared by every update, so it must be safe to read from several threads and must not be changed
+ * while an update is in progress.
+ *
+ * @param <CONTEXT_PROVIDER> Type of object that provides greater context
+ * @param <ANIMATION_TYPE> Type of object that is being animated
+ * @author Andronikus
+ */
+public class AnimationBatch<CONTEXT_PROVIDER, ANIMATION_TYPE> {
+
+    public static final int DEFAULT_ENTITIES_PER_TASK = 64;
+
+    private final List<AnimationController<CONTEXT_PROVIDER, ANIMATION_TYPE>> controllers = new ArrayList<>();
+    private final List<ANIMATION_TYPE> animatedEntities = new ArrayList<>();
+    private int entitiesPerTask = DEFAULT_ENTITIES_PER_TASK;
+
+    /**
+     * Add an animated entity to the batch.
+     *
+     * @param controller The controller of the entity
+     * @param animatedEntity The entity
+     * @return Self
+     */
+    public AnimationBatch<CONTEXT_PROVIDER, ANIMATION_TYPE> withEntity(
+        AnimationController<CONTEXT_PROVIDER, ANIMATION_TYPE> controller,
+        ANIMATION_TYPE animatedEntity
+    ) {
+        if (controller == null) {
+            throw new IllegalArgumentException("Controller must not be null.");
+        }
+        controllers.add(controller);
+        animatedEntities.add(animatedEntity);
+        return this;
+    }
+
+    /**
+     * Set the most entities updated by one task. Fewer entities per task spreads the work more evenly, more entities per
+     * task costs less in scheduling.
+     *
+     * @param entitiesPerTask Entities per task
+     * @return Self
+     */
+    public AnimationBatch<CONTEXT_PROVIDER, ANIMATION_TYPE> withEntitiesPerTask(int entitiesPerTask) {
+        if (entitiesPerTask <= 0) {
+            throw new IllegalArgumentException("Entities per task must be positive.");
+        }
+        this.entitiesPerTask = entitiesPerTask;
+        return this;
+    }
+
+    /**
+     * Update every entity in parallel on the common fork join pool.
+     *
+     * @param contextObject Greater context object
+     */
+    public void update(CONTEXT_PROVIDER contextObject) {
+        update(contextObject, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Update every entity in parallel. Returns once every entity is updated, so the poses are ready to be rendered.
+     *
+     * @param contextObject Greater context object
+     * @param pool The pool to update on
+     */
+    public void update(CONTEXT_PROVIDER contextObject, ForkJoinPool pool) {
+        if (controllers.isEmpty()) {
+            return;
+        }
+        pool.invoke(new UpdateTask(contextObject, 0, controllers.size()));
+    }
+
+    /**
+     * Render every entity as it was last updated, in the order they were added.
+     *
+     * @param graphics The graphics to render to
+     * @param centerX Function giving the X of the center of an entity
+     * @param centerY Function giving the Y of the center of an entity
+     * @param rotation Function giving the rotation of an entity
+     */
+    public void render(
+        GraphicsContext graphics,
+        ToIntFunction<ANIMATION_TYPE> centerX,
+        ToIntFunction<ANIMATION_TYPE> centerY,
+        ToDoubleFunction<ANIMATION_TYPE> rotation
+    ) {
+        for (int entityIndex = 0; entityIndex < controllers.size(); entityIndex++) {
+            final ANIMATION_TYPE animatedEntity = animatedEntities.get(entityIndex);
+            controllers.get(entityIndex).render(
+                graphics,
+                centerX.applyAsInt(animatedEntity),
+                centerY.applyAsInt(animatedEntity),
+                rotation.applyAsDouble(animatedEntity)
+            );
+        }
+    }
+
+    /**
+     * Get the amount of entities in the batch.
+     *
+     * @return Count of entities
+     */
+    public int size() {
+        return controllers.size();
+    }
+
+    /**
+     * Task updating a range of the entities, split in half until it is small enough.
+     */
+    @SuppressWarnings("serial") // Only Serializable by way of ForkJoinTask, tasks are never serialized
+    private class UpdateTask extends RecursiveAction {
+
+        private final CONTEXT_PROVIDER contextObject;
+        private final int start;
+        private final int end;
+
+        /**
+         * Instantiate a task updating a range of the entities.
+         *
+         * @param contextObject Greater context object
+         * @param start Index of the first entity
+         * @param end Index after the last entity
+         */
+        UpdateTask(CONTEXT_PROVIDER contextObject, int start, int end) {
+            this.contextObject = contextObject;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (end - start <= entitiesPerTask) {
+                for (int entityIndex = start; entityIndex < end; entityIndex++) {
+                    controllers.get(entityIndex).update(contextObject, animatedEntities.get(entityIndex));
+                }
+                return;
+            }
+
+            final int middle = (start + end) >>> 1;
+            invokeAll(new UpdateTask(contextObject, start, middle), new UpdateTask(contextObject, middle, end));
+        }
+    }
+}
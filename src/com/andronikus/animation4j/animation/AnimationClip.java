@@ -0,0 +1,423 @@
+package com.andronikus.animation4j.animation;
+
+import com.andronikus.animation4j.rig.RigPose;
+import com.andronikus.animation4j.rig.RigTemplate;
+import com.andronikus.animation4j.util.Pair;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The key frames of an {@link Animation}, compiled into flat primitive arrays when the animation is finalized.
+ *
+ * Every joint's key frames occupy a contiguous range of the frame arrays, in the order they were added, so rendering
+ * the animation is a linear walk over arrays rather than a walk over maps of key frame objects.
+ *
+ * A clip is immutable and addresses joints by their ID, so one clip can be played by any number of rigs that have joints
+ * with matching IDs. The playback position of each rig is kept in an {@link AnimationCursor}.
+ *
+ * @author Andronikus
+ */
+public final class AnimationClip {
+
+    // Joint channels. Frames for joint i are at indices [frameOffsets[i], frameOffsets[i + 1]).
+    private final short[] jointIds;
+    private final int[] frameOffsets;
+    private final long[] totalDurations;
+    private final boolean[] hasEndFrame;
+
+    // Frame channels
+    private final long[] frameStartTicks;
+    private final long[] frameDurations;
+    private final double[] jointRotations;
+    private final int[] widthChanges;
+    private final int[] heightChanges;
+    private final double[] fulcrumDistanceMultipliers;
+    private final boolean[] reflectX;
+    private final boolean[] reflectY;
+    private final boolean[] snapTo;
+
+    // Root rotation channel
+    private final long[] rotationStartTicks;
+    private final long[] rotationDurations;
+    private final double[] rotations;
+    private final long rotationTotalDuration;
+    private final boolean rotationHasEndFrame;
+
+    // Ticks until every channel of the clip has played through once
+    private final long cycleDuration;
+
+    /**
+     * Compile key frames into a clip.
+     *
+     * @param keyFrames Map of joint IDs to their total duration and key frames
+     * @param rootRotationFrames Root rotation key frames, paired as duration and rotation
+     * @param rootRotationTotalDuration Total duration of the root rotation key frames
+     */
+    AnimationClip(
+        Map<Short, Pair<Long, List<KeyFrame>>> keyFrames,
+        List<Pair<Long, Double>> rootRotationFrames,
+        long rootRotationTotalDuration
+    ) {
+        final int jointCount = keyFrames.size();
+        final int frameCount = keyFrames.values().stream().mapToInt(pairing -> pairing.getSecond().size()).sum();
+
+        jointIds = new short[jointCount];
+        frameOffsets = new int[jointCount + 1];
+        totalDurations = new long[jointCount];
+        hasEndFrame = new boolean[jointCount];
+
+        frameStartTicks = new long[frameCount];
+        frameDurations = new long[frameCount];
+        jointRotations = new double[frameCount];
+        widthChanges = new int[frameCount];
+        heightChanges = new int[frameCount];
+        fulcrumDistanceMultipliers = new double[frameCount];
+        reflectX = new boolean[frameCount];
+        reflectY = new boolean[frameCount];
+        snapTo = new boolean[frameCount];
+
+        long longestDuration = rootRotationTotalDuration;
+        int jointIndex = 0;
+        int frameIndex = 0;
+        for (Map.Entry<Short, Pair<Long, List<KeyFrame>>> entry : keyFrames.entrySet()) {
+            final List<KeyFrame> frames = entry.getValue().getSecond();
+            jointIds[jointIndex] = entry.getKey();
+            frameOffsets[jointIndex] = frameIndex;
+            totalDurations[jointIndex] = entry.getValue().getFirst();
+            hasEndFrame[jointIndex] = frames.get(frames.size() - 1).getDuration() == null;
+            longestDuration = Math.max(longestDuration, totalDurations[jointIndex]);
+
+            long startTick = 0L;
+            for (KeyFrame frame : frames) {
+                frameStartTicks[frameIndex] = startTick;
+                frameDurations[frameIndex] = frame.getDuration() == null ? 0L : frame.getDuration();
+                jointRotations[frameIndex] = frame.getJointRotation();
+                widthChanges[frameIndex] = frame.getWidthChange();
+                heightChanges[frameIndex] = frame.getHeightChange();
+                fulcrumDistanceMultipliers[frameIndex] = frame.getFulcrumDistanceMultiplier();
+                reflectX[frameIndex] = frame.isReflectX();
+                reflectY[frameIndex] = frame.isReflectY();
+                snapTo[frameIndex] = frame.isSnapTo();
+
+                startTick += frameDurations[frameIndex];
+                frameIndex++;
+            }
+            jointIndex++;
+        }
+        frameOffsets[jointCount] = frameIndex;
+
+        final int rotationFrameCount = rootRotationFrames.size();
+        rotationStartTicks = new long[rotationFrameCount];
+        rotationDurations = new long[rotationFrameCount];
+        rotations = new double[rotationFrameCount];
+        long rotationStartTick = 0L;
+        for (int rotationIndex = 0; rotationIndex < rotationFrameCount; rotationIndex++) {
+            final Pair<Long, Double> frame = rootRotationFrames.get(rotationIndex);
+            rotationStartTicks[rotationIndex] = rotationStartTick;
+            rotationDurations[rotationIndex] = frame.getFirst() == null ? 0L : frame.getFirst();
+            rotations[rotationIndex] = frame.getSecond();
+            rotationStartTick += rotationDurations[rotationIndex];
+        }
+        rotationTotalDuration = rootRotationTotalDuration;
+        rotationHasEndFrame = rotationFrameCount > 0 && rootRotationFrames.get(rotationFrameCount - 1).getFirst() == null;
+
+        cycleDuration = longestDuration;
+    }
+
+    /**
+     * Get the IDs of the joints the clip has key frames for.
+     *
+     * @return The joint IDs
+     */
+    public short[] getJointIds() {
+        return jointIds.clone();
+    }
+
+    /**
+     * Get the amount of ticks it takes for every channel of the clip to have played through at least once.
+     *
+     * @return The cycle duration
+     */
+    public long getCycleDuration() {
+        return cycleDuration;
+    }
+
+    /**
+     * Create a cursor positioned at the start of this clip.
+     *
+     * @return The cursor
+     */
+    public AnimationCursor createCursor() {
+        return new AnimationCursor(jointIds.length);
+    }
+
+    /**
+     * Get the amount of joints the clip animates.
+     *
+     * @return Count of joints
+     */
+    public int getJointCount() {
+        return jointIds.length;
+    }
+
+    /**
+     * Look up the limbs of a rig that the joints of this clip lead to. The result is in the order the clip expects when
+     * applied.
+     *
+     * @param template The template of the rig
+     * @return Index of the limb for each joint ID of the clip
+     */
+    public int[] bindTo(RigTemplate<?, ?> template) {
+        final int[] limbIndices = new int[jointIds.length];
+        for (int jointIndex = 0; jointIndex < jointIds.length; jointIndex++) {
+            limbIndices[jointIndex] = template.limbIndexForJointId(jointIds[jointIndex]);
+            if (limbIndices[jointIndex] < 0) {
+                throw new IllegalArgumentException("No joint for ID " + jointIds[jointIndex] + ".");
+            }
+        }
+        return limbIndices;
+    }
+
+    /**
+     * Has the cursor played through every channel of the clip at least once?
+     *
+     * @param cursor The cursor
+     * @return True if a full cycle has been played
+     */
+    public boolean isCycleFinished(AnimationCursor cursor) {
+        return isCycleFinished(cursor.ticks);
+    }
+
+    /**
+     * Has every channel of the clip been played through at least once after some ticks?
+     *
+     * @param ticks Ticks played on the clip
+     * @return True if a full cycle has been played
+     */
+    public boolean isCycleFinished(long ticks) {
+        return ticks > cycleDuration;
+    }
+
+    /**
+     * Get how many more ticks must be played on the clip until every channel has been played through at least once.
+     *
+     * @param ticks Ticks played on the clip
+     * @return Ticks until a full cycle has been played, 0 if one has
+     */
+    public long ticksUntilCycleFinished(long ticks) {
+        return Math.max(0, cycleDuration + 1 - ticks);
+    }
+
+    /**
+     * Apply the state of every joint at the cursor's tick to a pose.
+     *
+     * @param pose The pose
+     * @param limbIndices Index of the limb for each joint of the clip, as given by {@link #bindTo(RigTemplate)}
+     * @param cursor The cursor. Its frame positions are updated with the frames used.
+     */
+    public void apply(RigPose<?, ?> pose, int[] limbIndices, AnimationCursor cursor) {
+        apply(pose, limbIndices, cursor, true);
+    }
+
+    /**
+     * Apply the state of every joint at the cursor's tick to a pose, optionally leaving out the width, height and fulcrum
+     * distance channels. Limbs whose sizes are left out keep the sizes they were last posed with.
+     *
+     * @param pose The pose
+     * @param limbIndices Index of the limb for each joint of the clip, as given by {@link #bindTo(RigTemplate)}
+     * @param cursor The cursor. Its frame positions are updated with the frames used.
+     * @param posesSizes Whether the width, height and fulcrum distance channels are applied
+     */
+    public void apply(RigPose<?, ?> pose, int[] limbIndices, AnimationCursor cursor, boolean posesSizes) {
+        final long ticks = cursor.ticks;
+        final int[] frameCursors = cursor.frameCursors;
+        for (int jointIndex = 0; jointIndex < jointIds.length; jointIndex++) {
+            final int firstFrame = frameOffsets[jointIndex];
+            final int lastFrame = frameOffsets[jointIndex + 1] - 1;
+            final long totalDuration = totalDurations[jointIndex];
+            final boolean endFrameReached = hasEndFrame[jointIndex] && ticks >= totalDuration;
+
+            final int frame = activeFrame(
+                frameStartTicks, firstFrame, lastFrame, totalDuration, hasEndFrame[jointIndex], ticks, frameCursors[jointIndex]
+            );
+            frameCursors[jointIndex] = frame;
+
+            final int limbIndex = limbIndices[jointIndex];
+            pose.setReflectX(limbIndex, reflectX[frame]);
+            pose.setReflectY(limbIndex, reflectY[frame]);
+
+            final long ticksOnKeyFrame = endFrameReached ? 0L : (ticks % totalDuration) - frameStartTicks[frame];
+
+            // TODO Snap-To is useless since we automatically snap to this animation from previous animation.
+            if (endFrameReached || (snapTo[frame] && ticksOnKeyFrame == 0L)) {
+                pose.setRotation(limbIndex, jointRotations[frame]);
+                if (!posesSizes) {
+                    continue;
+                }
+                pose.setWidthChange(limbIndex, widthChanges[frame]);
+                pose.setHeightChange(limbIndex, heightChanges[frame]);
+                pose.setFulcrumDistanceMultiplier(limbIndex, fulcrumDistanceMultipliers[frame]);
+                continue;
+            }
+
+            // Calculate the percentage of the keyframe that is currently covered, the target being the next frame
+            final int target = frame < lastFrame ? frame + 1 : firstFrame;
+            final double percentageCovered = ((double) ticksOnKeyFrame) / ((double) frameDurations[frame]);
+
+            pose.setRotation(limbIndex, jointRotations[frame] + (jointRotations[target] - jointRotations[frame]) * percentageCovered);
+            if (!posesSizes) {
+                continue;
+            }
+            pose.setWidthChange(
+                limbIndex, widthChanges[frame] + (int) ((double) (widthChanges[target] - widthChanges[frame]) * percentageCovered)
+            );
+            pose.setHeightChange(
+                limbIndex, heightChanges[frame] + (int) ((double) (heightChanges[target] - heightChanges[frame]) * percentageCovered)
+            );
+            pose.setFulcrumDistanceMultiplier(
+                limbIndex,
+                fulcrumDistanceMultipliers[frame] +
+                (fulcrumDistanceMultipliers[target] - fulcrumDistanceMultipliers[frame]) * percentageCovered
+            );
+        }
+    }
+
+    /**
+     * Get the rotation of the whole rig at the cursor's tick.
+     *
+     * @param cursor The cursor. Its root rotation frame position is updated with the frame used.
+     * @return The root rotation, zero if there are no rotational key frames
+     */
+    public double rootRotation(AnimationCursor cursor) {
+        final int lastFrame = rotations.length - 1;
+        if (lastFrame < 0) {
+            return 0.0;
+        }
+
+        final long ticks = cursor.ticks;
+        final int frame = activeFrame(
+            rotationStartTicks, 0, lastFrame, rotationTotalDuration, rotationHasEndFrame, ticks, cursor.rootRotationFrameCursor
+        );
+        cursor.rootRotationFrameCursor = frame;
+
+        if (rotationHasEndFrame && ticks >= rotationTotalDuration) {
+            return rotations[frame];
+        }
+
+        final int target = frame < lastFrame ? frame + 1 : 0;
+        final long ticksOnKeyFrame = (ticks % rotationTotalDuration) - rotationStartTicks[frame];
+        final double rotationRatio = ((double) ticksOnKeyFrame) / ((double) rotationDurations[frame]);
+        return rotations[frame] + (rotations[target] - rotations[frame]) * rotationRatio;
+    }
+
+    /**
+     * Move a cursor to a tick of the clip. Frames are found with a binary search over their start ticks, so this costs
+     * the same regardless of how far away the tick is.
+     *
+     * @param cursor The cursor
+     * @param tick The tick to move to
+     */
+    public void seek(AnimationCursor cursor, long tick) {
+        if (tick < 0) {
+            throw new IllegalArgumentException("Cannot seek to a negative tick.");
+        }
+
+        for (int jointIndex = 0; jointIndex < jointIds.length; jointIndex++) {
+            cursor.frameCursors[jointIndex] = frameAt(
+                frameStartTicks,
+                frameOffsets[jointIndex],
+                frameOffsets[jointIndex + 1] - 1,
+                totalDurations[jointIndex],
+                hasEndFrame[jointIndex],
+                tick
+            );
+        }
+
+        cursor.rootRotationFrameCursor = rotations.length == 0 ? -1 : frameAt(
+            rotationStartTicks, 0, rotations.length - 1, rotationTotalDuration, rotationHasEndFrame, tick
+        );
+        cursor.ticks = tick;
+    }
+
+    /**
+     * Find the frame of a channel that is active at a tick using a binary search over the frame start ticks.
+     *
+     * @param startTicks Start tick of each frame within its cycle
+     * @param firstFrame Index of the first frame of the channel
+     * @param lastFrame Index of the last frame of the channel
+     * @param totalDuration Total duration of the channel
+     * @param hasEndFrame Whether the last frame is a resting frame with no duration
+     * @param ticks Ticks into the animation
+     * @return The index of the active frame
+     */
+    private static int frameAt(
+        long[] startTicks,
+        int firstFrame,
+        int lastFrame,
+        long totalDuration,
+        boolean hasEndFrame,
+        long ticks
+    ) {
+        if (hasEndFrame && ticks >= totalDuration) {
+            return lastFrame;
+        }
+
+        final long cycleTick = ticks % totalDuration;
+        final int lastCyclicFrame = hasEndFrame ? lastFrame - 1 : lastFrame;
+
+        // On a miss, the active frame is the one before the insertion point
+        int frame = Arrays.binarySearch(startTicks, firstFrame, lastCyclicFrame + 1, cycleTick);
+        if (frame < 0) {
+            return -frame - 2;
+        }
+
+        // Zero duration frames share a start tick, the last of them is the active one
+        while (frame < lastCyclicFrame && startTicks[frame + 1] == cycleTick) {
+            frame++;
+        }
+        return frame;
+    }
+
+    /**
+     * Find the frame of a channel that is active at a tick. Frames are walked forward from the frame the previous lookup
+     * ended on, so advancing a tick at a time costs a constant amount of work.
+     *
+     * @param startTicks Start tick of each frame within its cycle
+     * @param firstFrame Index of the first frame of the channel
+     * @param lastFrame Index of the last frame of the channel
+     * @param totalDuration Total duration of the channel
+     * @param hasEndFrame Whether the last frame is a resting frame with no duration
+     * @param ticks Ticks into the animation
+     * @param frameCursor Frame index the previous lookup ended on
+     * @return The index of the active frame
+     */
+    private static int activeFrame(
+        long[] startTicks,
+        int firstFrame,
+        int lastFrame,
+        long totalDuration,
+        boolean hasEndFrame,
+        long ticks,
+        int frameCursor
+    ) {
+        if (hasEndFrame && ticks >= totalDuration) {
+            return lastFrame;
+        }
+
+        final long cycleTick = ticks % totalDuration;
+        final int lastCyclicFrame = hasEndFrame ? lastFrame - 1 : lastFrame;
+
+        // Start from the cursor, unless the cycle has wrapped around behind it
+        int frame = frameCursor;
+        if (frame < firstFrame || frame > lastCyclicFrame || startTicks[frame] > cycleTick) {
+            frame = firstFrame;
+        }
+
+        while (frame < lastCyclicFrame && startTicks[frame + 1] <= cycleTick) {
+            frame++;
+        }
+        return frame;
+    }
+}
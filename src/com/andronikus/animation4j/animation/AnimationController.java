@@ -1,14 +1,38 @@
 package com.andronikus.animation4j.animation;
 
 import com.andronikus.animation4j.rig.AnimationRig;
+import com.andronikus.animation4j.rig.InterpolatedPoseBuffer;
+import com.andronikus.animation4j.rig.PrerenderedRigSprite;
+import com.andronikus.animation4j.rig.RigPose;
 import com.andronikus.animation4j.rig.graphics.GraphicsContext;
 import com.andronikus.animation4j.statemachine.DeterministicFiniteAutomata;
 import com.andronikus.animation4j.util.RenderRatio;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Objects;
 
 /**
  * Controller for animation of an object.
  *
+ * Rendering is done in two phases. {@link #update(Object, Object)} advances the controller and poses its rig, and
+ * {@link #render(GraphicsContext, int, int, double)} draws the pose. Rendering changes nothing, so a pose can be drawn
+ * any amount of times per update, such as into several viewports, and {@link #advance(Object, Object, long)} moves the
+ * clock independently of how often it is drawn. Updates of different controllers can run on different threads, see
+ * {@link AnimationBatch}. What they share is either only read or synchronized internally. Shared state graphs and
+ * animation clips are not changed once built, while the sprites cached by stop motion states, the tiles of sprite sheets
+ * and the {@link com.andronikus.animation4j.util.ImageCache} are filled atomically or under a lock. A controller, its rig
+ * and the image providers of its rig are confined to one thread at a time. Render ratios are read when rendering, and when
+ * updating with levels of detail, so they must only be changed while the controller is neither rendered nor updated.
+ *
+ * To update at a fixed rate, slower than rendering, enable interpolation. Each update is then published to a lock-free
+ * buffer, and {@link #renderInterpolated(GraphicsContext, int, int, double, double)} draws the rig part of the way
+ * between the last two updates, from another thread if need be. {@link com.andronikus.animation4j.util.FixedTimestepClock}
+ * gives the ticks to advance by and how far between updates to draw.
+ *
+ * Entities drawn small, or marked as unimportant, can be animated at a lower level of detail, see
+ * {@link #setLevelsOfDetail(LevelOfDetail...)}. A lower level of detail can pose the rig less often, pose fewer channels,
+ * leave out tiny limbs or draw the whole rig as one prerendered sprite, captured once rather than posed each update.
+ *
  * @param <CONTEXT_PROVIDER> Type of object that provides greater context
  * @param <ANIMATION_TYPE> Type of object that is being animated
  * @author Andronikus
@@ -21,6 +45,36 @@ public abstract class AnimationController<CONTEXT_PROVIDER, ANIMATION_TYPE> exte
     private AnimationRig<CONTEXT_PROVIDER, ANIMATION_TYPE> rig;
     private RenderRatio renderRatio;
 
+    // Playback position in the active animation, grown when an animation has more joints than it has room for
+    private AnimationCursor cursor = null;
+
+    // Rotation of the whole rig from the rotational key frames of the last update
+    private double posedRootRotation = 0.0;
+
+    // Animation the rig was last posed with, and the tick of it that was posed
+    private Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> posedAnimation = null;
+    private long posedAnimationTick = -1;
+
+    // Poses handed to the rendering thread, and the pose it interpolates into, when interpolation is enabled
+    private InterpolatedPoseBuffer<CONTEXT_PROVIDER, ANIMATION_TYPE> poseBuffer = null;
+    private RigPose<CONTEXT_PROVIDER, ANIMATION_TYPE> interpolatedPose = null;
+
+    // Levels of detail by ascending detail threshold, and the level chosen by the last update, null for full detail.
+    // The level is volatile since interpolated rendering reads it from the rendering thread.
+    private LevelOfDetail[] levelsOfDetail = new LevelOfDetail[0];
+    private volatile LevelOfDetail levelOfDetail = null;
+    private double importance = 1.0;
+
+    // Sprite of the level of detail that has one, captured when next rendered if stale, and the poses since its capture
+    private PrerenderedRigSprite prerenderedSprite = null;
+    private LevelOfDetail prerenderedSpriteLevel = null;
+    private boolean prerenderedSpriteStale = false;
+    private int posesSincePrerenderedSpriteCapture = 0;
+
+    // Ticks counted since the rig was last posed, and whether it has been posed yet
+    private long unposedTicks = 0;
+    private boolean posed = false;
+
     /**
      * Instantiate a controller for animation of an object.
      *
@@ -58,10 +112,304 @@ public abstract class AnimationController<CONTEXT_PROVIDER, ANIMATION_TYPE> exte
         final int centerX = (int) parameters[1];
         final int centerY = (int) parameters[2];
         final double rotation = (double) parameters[3];
-        state.nextRender(graphics, contextObject, animatedObject, centerX, centerY, rotation, renderRatio);
+        pose(state, contextObject, animatedObject, 0);
+        render(graphics, centerX, centerY, rotation);
         return null;
     }
 
+    /**
+     * Advance the controller a tick and pose its rig, without drawing anything. The images of the rig's limbs are
+     * fetched as well, so image providers such as stop motion controllers advance here rather than when rendering.
+     *
+     * At a level of detail with an update interval, the tick is only counted until the interval is up, and the rig is
+     * then posed as of the last tick counted. The rig is always posed when the level of detail changes.
+     *
+     * @param contextObject Greater context object
+     * @param animatedEntity Object being animated
+     */
+    public void update(CONTEXT_PROVIDER contextObject, ANIMATION_TYPE animatedEntity) {
+        final boolean levelOfDetailChanged = chooseLevelOfDetail();
+        unposedTicks++;
+        if (posed && !levelOfDetailChanged && levelOfDetail != null && unposedTicks < levelOfDetail.getUpdateInterval()) {
+            return;
+        }
+        poseUnposedTicks(contextObject, animatedEntity);
+    }
+
+    /**
+     * Advance the controller some ticks, as if it had been updated that many times, and pose its rig as of the last of
+     * them. Advancing no ticks leaves the pose as it is.
+     *
+     * Only the last tick is posed. The ticks before it are skipped without sampling the animation, checking transitions
+     * only where the state could change, so catching up after rendering has stalled takes about as long as one update
+     * however many ticks it skips. Image providers of limbs drawn on the last tick skip the images of the ticks before it.
+     *
+     * @param contextObject Greater context object
+     * @param animatedEntity Object being animated
+     * @param ticks The ticks to advance
+     */
+    public void advance(CONTEXT_PROVIDER contextObject, ANIMATION_TYPE animatedEntity, long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative amount of ticks.");
+        }
+        if (ticks == 0) {
+            return;
+        }
+
+        chooseLevelOfDetail();
+        unposedTicks += ticks;
+        poseUnposedTicks(contextObject, animatedEntity);
+    }
+
+    /**
+     * Skip every tick counted since the rig was last posed but the last, and pose the rig as of the last.
+     *
+     * @param contextObject Greater context object
+     * @param animatedEntity Object being animated
+     */
+    private void poseUnposedTicks(CONTEXT_PROVIDER contextObject, ANIMATION_TYPE animatedEntity) {
+        final long skippedTicks = unposedTicks - 1;
+        unposedTicks = 0;
+        skipTicks(contextObject, animatedEntity, skippedTicks);
+        pose(nextState(contextObject, animatedEntity), contextObject, animatedEntity, skippedTicks);
+    }
+
+    /**
+     * Render the rig as it was posed by the last update. Nothing is advanced, so this can be called any amount of times.
+     *
+     * @param graphics The graphical object
+     * @param centerX The X of the center of the animation
+     * @param centerY The Y of the center of the animation
+     * @param rotation How much should this animation be rotated by?
+     */
+    public void render(GraphicsContext graphics, int centerX, int centerY, double rotation) {
+        render(graphics, centerX, centerY, rotation, renderRatio);
+    }
+
+    /**
+     * Render the rig as it was posed by the last update at a scale other than the controller's, such as into a minimap.
+     * Nothing is advanced, so this can be called any amount of times.
+     *
+     * @param graphics The graphical object
+     * @param centerX The X of the center of the animation
+     * @param centerY The Y of the center of the animation
+     * @param rotation How much should this animation be rotated by?
+     * @param viewRatio Scale at which is to be rendered
+     */
+    public void render(GraphicsContext graphics, int centerX, int centerY, double rotation, RenderRatio viewRatio) {
+        final LevelOfDetail level = levelOfDetail;
+        if (level == null) {
+            rig.renderPosed(graphics, centerX, centerY, rotation + posedRootRotation, viewRatio);
+        } else if (level.hasPrerenderedSprite()) {
+            if (prerenderedSpriteStale) {
+                prerenderedSprite.capture(rig, posedRootRotation, renderRatio);
+                prerenderedSpriteStale = false;
+                posesSincePrerenderedSpriteCapture = 0;
+            }
+            prerenderedSprite.render(graphics, centerX, centerY, rotation, viewRatio);
+        } else {
+            rig.renderPosed(graphics, centerX, centerY, rotation + posedRootRotation, viewRatio, level.getMinimumLimbPixels());
+        }
+    }
+
+    /**
+     * Pose the rig as the active animation is at the tick it is on and count the tick.
+     *
+     * @param animation The active animation
+     * @param contextObject Greater context object
+     * @param animatedEntity Object being animated
+     * @param skippedTicks Ticks skipped before this one, whose images are skipped by the image providers
+     */
+    private void pose(
+        Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> animation,
+        CONTEXT_PROVIDER contextObject,
+        ANIMATION_TYPE animatedEntity,
+        long skippedTicks
+    ) {
+        final AnimationCursor activeCursor = cursorFor(animation);
+        if (skippedTicks > 0) {
+            // Frame positions from before the skipped ticks would be walked forward frame by frame
+            animation.getClip().seek(activeCursor, getActiveStateTicks());
+        } else {
+            activeCursor.ticks = getActiveStateTicks();
+        }
+        posedRootRotation = animation.applyPose(rig, activeCursor, levelOfDetail == null || levelOfDetail.posesSizes());
+        posedAnimation = animation;
+        posedAnimationTick = getActiveStateTicks();
+        rig.updateImages(contextObject, animatedEntity, skippedTicks);
+        tickActiveState();
+        posed = true;
+
+        updatePrerenderedSpriteStaleness();
+
+        if (poseBuffer != null) {
+            poseBuffer.publish(rig.getPose(), posedRootRotation);
+        }
+    }
+
+    /**
+     * Pose the rig as an animation being left was on its last tick, if that tick was skipped. Joints the next animation has
+     * no key frames for keep the pose the last animation left them in, as they would have been updated tick by tick.
+     *
+     * @param animation The animation being left
+     * @param ticksOnState Ticks the animation was applied for
+     */
+    @Override
+    protected void handleActiveStateLeft(Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> animation, long ticksOnState) {
+        final long lastTick = ticksOnState - 1;
+        if (lastTick < 0 || (animation == posedAnimation && lastTick == posedAnimationTick)) {
+            return;
+        }
+
+        final AnimationCursor lastCursor = cursorFor(animation);
+        animation.getClip().seek(lastCursor, lastTick);
+        posedRootRotation = animation.applyPose(rig, lastCursor, levelOfDetail == null || levelOfDetail.posesSizes());
+        posedAnimation = animation;
+        posedAnimationTick = lastTick;
+    }
+
+    /**
+     * Mark the prerendered sprite to be captured again on the next render if its level of detail was just entered, the
+     * render ratio changed since it was captured or its refresh interval is up. Otherwise, it keeps the pose it holds.
+     */
+    private void updatePrerenderedSpriteStaleness() {
+        final LevelOfDetail level = levelOfDetail;
+        if (level == null || !level.hasPrerenderedSprite()) {
+            prerenderedSpriteLevel = null;
+            return;
+        }
+
+        if (prerenderedSpriteLevel != level) {
+            prerenderedSprite = new PrerenderedRigSprite(level.getSpriteWidth(), level.getSpriteHeight());
+            prerenderedSpriteLevel = level;
+            prerenderedSpriteStale = true;
+        } else if (!prerenderedSprite.isCapturedAt(renderRatio)) {
+            prerenderedSpriteStale = true;
+        } else if (!prerenderedSpriteStale && level.getSpriteRefreshInterval() > 0 &&
+            ++posesSincePrerenderedSpriteCapture >= level.getSpriteRefreshInterval()) {
+            prerenderedSpriteStale = true;
+        }
+    }
+
+    /**
+     * Set the levels of detail to drop to as the detail of the controller falls. The detail is the smaller scale of the
+     * render ratio multiplied by the importance, and the level used is the one with the lowest threshold the detail is
+     * below. At or above every threshold, the rig is animated at full detail. Levels are chosen when updating.
+     *
+     * @param levelsOfDetail The levels of detail, none for full detail at any scale
+     */
+    public void setLevelsOfDetail(LevelOfDetail... levelsOfDetail) {
+        final LevelOfDetail[] sortedLevels = levelsOfDetail.clone();
+        for (LevelOfDetail level : sortedLevels) {
+            Objects.requireNonNull(level, "Level of detail must not be null.");
+        }
+        Arrays.sort(sortedLevels, Comparator.comparingDouble(LevelOfDetail::getDetailThreshold));
+        this.levelsOfDetail = sortedLevels;
+    }
+
+    /**
+     * Set how important the animated entity is, such as lower for crowds in the background. Multiplies the scale of the
+     * render ratio to give the detail levels of detail are chosen by.
+     *
+     * @param importance The importance, 1 by default
+     */
+    public void setImportance(double importance) {
+        if (importance < 0) {
+            throw new IllegalArgumentException("Importance cannot be negative.");
+        }
+        this.importance = importance;
+    }
+
+    /**
+     * Get the level of detail chosen by the last update.
+     *
+     * @return The level of detail, null for full detail
+     */
+    public LevelOfDetail getLevelOfDetail() {
+        return levelOfDetail;
+    }
+
+    /**
+     * Choose the level of detail for the current render ratio and importance.
+     *
+     * @return True if the level of detail changed
+     */
+    private boolean chooseLevelOfDetail() {
+        final double detail = importance * Math.min(Math.abs(renderRatio.getWidthScale()), Math.abs(renderRatio.getHeightScale()));
+
+        LevelOfDetail chosenLevel = null;
+        for (LevelOfDetail level : levelsOfDetail) {
+            if (detail < level.getDetailThreshold()) {
+                chosenLevel = level;
+                break;
+            }
+        }
+
+        final boolean changed = chosenLevel != levelOfDetail;
+        levelOfDetail = chosenLevel;
+        return changed;
+    }
+
+    /**
+     * Publish every update for rendering with {@link #renderInterpolated(GraphicsContext, int, int, double, double)}.
+     * Must be called before the controller is handed to separate updating and rendering threads.
+     */
+    public void enableInterpolation() {
+        if (poseBuffer == null) {
+            poseBuffer = new InterpolatedPoseBuffer<>(rig.getTemplate());
+            interpolatedPose = rig.getTemplate().createPose();
+        }
+    }
+
+    /**
+     * Render the rig part of the way between the last two updates. Safe to call from a rendering thread while another
+     * thread updates the controller. Nothing is drawn until the first update.
+     *
+     * Limbs are left out as the level of detail chosen by the last update says, but prerendered sprites are not used,
+     * since a sprite only holds the pose of one update and cannot be drawn between two. At a level of detail with a sprite,
+     * the limbs are drawn instead.
+     *
+     * @param graphics The graphical object
+     * @param centerX The X of the center of the animation
+     * @param centerY The Y of the center of the animation
+     * @param rotation How much should this animation be rotated by?
+     * @param alpha How far between the updates, from 0 at the older to 1 at the newer
+     */
+    public void renderInterpolated(GraphicsContext graphics, int centerX, int centerY, double rotation, double alpha) {
+        if (poseBuffer == null) {
+            throw new IllegalStateException("Interpolation is not enabled.");
+        }
+
+        final double rootRotation = poseBuffer.interpolateInto(interpolatedPose, alpha);
+        if (Double.isNaN(rootRotation)) {
+            return;
+        }
+        final LevelOfDetail level = levelOfDetail;
+        final int minimumLimbPixels = level == null ? 0 : level.getMinimumLimbPixels();
+        rig.getTemplate().renderPosed(
+            graphics, interpolatedPose, centerX, centerY, rotation + rootRotation, renderRatio, minimumLimbPixels
+        );
+    }
+
+    /**
+     * Get the cursor, making sure it has room for the joints of an animation. Frame positions left over from another
+     * animation are only hints, so they do not need to be reset.
+     *
+     * @param animation The animation
+     * @return The cursor
+     */
+    private AnimationCursor cursorFor(Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> animation) {
+        final AnimationClip clip = animation.getClip();
+        if (clip == null) {
+            throw new IllegalStateException("Cannot render animation that is not finalized.");
+        }
+
+        if (cursor == null || cursor.frameCursors.length < clip.getJointCount()) {
+            cursor = clip.createCursor();
+        }
+        return cursor;
+    }
+
     /**
      * Render the next state into a graphical object.
      *
@@ -80,7 +428,21 @@ public abstract class AnimationController<CONTEXT_PROVIDER, ANIMATION_TYPE> exte
         int centerY,
         double rotation
     ) {
-        nextAction(contextObject, animatedEntity, graphics, centerX, centerY, rotation);
+        // Applied directly rather than through nextAction, so the parameters are not boxed on every frame
+        update(contextObject, animatedEntity);
+        render(graphics, centerX, centerY, rotation);
+    }
+
+    /**
+     * Jump the playback of the animation currently being played to a tick. Useful for resynchronizing an animation
+     * after rendering has stalled, since it does not replay the ticks in between.
+     *
+     * @param tick The tick of the active animation to jump to
+     */
+    public void seek(long tick) {
+        setActiveStateTicks(tick);
+        final Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> animation = getActiveState();
+        animation.getClip().seek(cursorFor(animation), tick);
     }
 
     /**
@@ -101,6 +463,17 @@ public abstract class AnimationController<CONTEXT_PROVIDER, ANIMATION_TYPE> exte
         return new Animation<CONTEXT_PROVIDER, ANIMATION_TYPE>().withRig(rig);
     }
 
+    /**
+     * Helper function to create a new animation that plays an already compiled clip, such as one compiled by the
+     * animation of another controller of the same kind.
+     *
+     * @param clip The clip to play
+     * @return New animation
+     */
+    protected Animation<CONTEXT_PROVIDER, ANIMATION_TYPE> createAnimation(AnimationClip clip) {
+        return createAnimation().withClip(clip);
+    }
+
     /**
      * Set the dimensions for the screen (or window) the animation being controlled will be rendered on.
      *
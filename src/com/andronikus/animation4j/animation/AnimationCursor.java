@@ -0,0 +1,54 @@
+package com.andronikus.animation4j.animation;
+
+import java.util.Arrays;
+
+/**
+ * Playback position of a rig within an {@link AnimationClip}. Holds nothing but primitives, so every animated entity
+ * can have its own cursor while sharing a single clip.
+ *
+ * @author Andronikus
+ */
+public final class AnimationCursor {
+
+    // Ticks played on the clip
+    long ticks = 0L;
+
+    // Frame index each joint, and the root rotation, was last applied on. Only a hint to speed up frame lookups.
+    final int[] frameCursors;
+    int rootRotationFrameCursor = -1;
+
+    /**
+     * Instantiate a cursor at the start of a clip.
+     *
+     * @param jointCount The amount of joints in the clip
+     */
+    AnimationCursor(int jointCount) {
+        frameCursors = new int[jointCount];
+        reset();
+    }
+
+    /**
+     * Move the cursor back to the start of the clip.
+     */
+    public void reset() {
+        ticks = 0L;
+        Arrays.fill(frameCursors, -1);
+        rootRotationFrameCursor = -1;
+    }
+
+    /**
+     * Move the cursor forward a tick.
+     */
+    public void tick() {
+        ticks++;
+    }
+
+    /**
+     * Get the ticks played on the clip.
+     *
+     * @return The ticks
+     */
+    public long getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,181 @@
+package com.andronikus.animation4j.animation;
+
+/**
+ * Level of detail an animation controller drops to while its detail is below a threshold. The detail of a controller is
+ * the scale of its render ratio multiplied by its importance, so entities that are drawn small, or that the caller has
+ * marked as unimportant, can be animated for a fraction of the cost. See
+ * {@link AnimationController#setLevelsOfDetail(LevelOfDetail...)}.
+ *
+ * By default, a level of detail is full detail. Each of its settings cuts a part of the cost.
+ *
+ * @author Andronikus
+ */
+public class LevelOfDetail {
+
+    private final double detailThreshold;
+    private int updateInterval = 1;
+    private boolean posesSizes = true;
+    private int minimumLimbPixels = 0;
+    private int spriteWidth = 0;
+    private int spriteHeight = 0;
+    private int spriteRefreshInterval = 0;
+
+    /**
+     * Instantiate a level of detail used while the detail of a controller is below a threshold.
+     *
+     * @param detailThreshold The detail below which the level is used
+     */
+    public LevelOfDetail(double detailThreshold) {
+        if (detailThreshold <= 0) {
+            throw new IllegalArgumentException("Detail threshold must be positive.");
+        }
+        this.detailThreshold = detailThreshold;
+    }
+
+    /**
+     * Only pose the rig once every so many updates. Updates in between only count the tick, and the rig is posed as of
+     * the last of them, as if advanced by {@link AnimationController#advance(Object, Object, long)}. The ticks in between
+     * are judged by the context of the update that poses the rig, so transitions can be off by up to that many ticks.
+     *
+     * @param updateInterval Updates per pose
+     * @return Self
+     */
+    public LevelOfDetail withUpdateInterval(int updateInterval) {
+        if (updateInterval <= 0) {
+            throw new IllegalArgumentException("Update interval must be positive.");
+        }
+        this.updateInterval = updateInterval;
+        return this;
+    }
+
+    /**
+     * Only pose rotations and reflections. Width, height and fulcrum distance key frames are not interpolated, so limbs
+     * keep the sizes and placements they were last posed with.
+     *
+     * @return Self
+     */
+    public LevelOfDetail withoutSizeChannels() {
+        posesSizes = false;
+        return this;
+    }
+
+    /**
+     * Do not draw limbs narrower and shorter than some pixels once scaled. Limbs jointed to them are still drawn.
+     *
+     * @param minimumLimbPixels Pixels a limb must be wide or tall to be drawn
+     * @return Self
+     */
+    public LevelOfDetail withMinimumLimbPixels(int minimumLimbPixels) {
+        if (minimumLimbPixels < 0) {
+            throw new IllegalArgumentException("Minimum limb pixels cannot be negative.");
+        }
+        this.minimumLimbPixels = minimumLimbPixels;
+        return this;
+    }
+
+    /**
+     * Draw the rig as a sprite rather than limb by limb. The rig is rendered into the sprite on the first render after
+     * the level is entered, and again after the render ratio changes, so the sprite keeps that pose until then unless it
+     * is given a refresh interval. The sprite is drawn as one image, so limbs are no longer scaled and rotated
+     * separately. Not used when rendering interpolated poses, which are drawn limb by limb.
+     *
+     * @param spriteWidth Width of the sprite, at the default resolution of the controller
+     * @param spriteHeight Height of the sprite, at the default resolution of the controller
+     * @return Self
+     */
+    public LevelOfDetail withPrerenderedSprite(int spriteWidth, int spriteHeight) {
+        if (spriteWidth <= 0 || spriteHeight <= 0) {
+            throw new IllegalArgumentException("Sprite dimensions must be positive.");
+        }
+        this.spriteWidth = spriteWidth;
+        this.spriteHeight = spriteHeight;
+        return this;
+    }
+
+    /**
+     * Render the rig into its prerendered sprite again once every so many poses, so that the sprite follows the rig at
+     * that rate. Each refresh costs about as much as drawing the rig limb by limb.
+     *
+     * @param spriteRefreshInterval Poses per capture of the sprite
+     * @return Self
+     */
+    public LevelOfDetail withSpriteRefreshInterval(int spriteRefreshInterval) {
+        if (spriteRefreshInterval <= 0) {
+            throw new IllegalArgumentException("Sprite refresh interval must be positive.");
+        }
+        this.spriteRefreshInterval = spriteRefreshInterval;
+        return this;
+    }
+
+    /**
+     * Get the detail below which the level is used.
+     *
+     * @return The detail threshold
+     */
+    public double getDetailThreshold() {
+        return detailThreshold;
+    }
+
+    /**
+     * Get the updates per pose of the rig.
+     *
+     * @return The update interval
+     */
+    public int getUpdateInterval() {
+        return updateInterval;
+    }
+
+    /**
+     * Are width, height and fulcrum distance key frames posed?
+     *
+     * @return True if they are posed
+     */
+    public boolean posesSizes() {
+        return posesSizes;
+    }
+
+    /**
+     * Get the pixels a limb must be wide or tall to be drawn.
+     *
+     * @return The minimum limb pixels
+     */
+    public int getMinimumLimbPixels() {
+        return minimumLimbPixels;
+    }
+
+    /**
+     * Is the rig drawn as a prerendered sprite?
+     *
+     * @return True if it is drawn as a sprite
+     */
+    public boolean hasPrerenderedSprite() {
+        return spriteWidth > 0;
+    }
+
+    /**
+     * Get the width of the prerendered sprite at the default resolution of the controller.
+     *
+     * @return The width, 0 if there is no sprite
+     */
+    public int getSpriteWidth() {
+        return spriteWidth;
+    }
+
+    /**
+     * Get the height of the prerendered sprite at the default resolution of the controller.
+     *
+     * @return The height, 0 if there is no sprite
+     */
+    public int getSpriteHeight() {
+        return spriteHeight;
+    }
+
+    /**
+     * Get the poses per capture of the prerendered sprite.
+     *
+     * @return The refresh interval, 0 if the sprite is only captured when the level is entered or the render ratio changes
+     */
+    public int getSpriteRefreshInterval() {
+        return spriteRefreshInterval;
+    }
+}
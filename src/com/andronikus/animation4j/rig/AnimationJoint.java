@@ -15,6 +15,7 @@ public class AnimationJoint<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
     private final AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> parent;
     private final int parentJointRegistrationPosition;
     private final AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> limb;
+    private StateAccess stateAccess = null;
 
     public AnimationJoint(
         AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> parent,
@@ -42,7 +43,8 @@ public class AnimationJoint<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
      * @return The rotation
      */
     public double getRotation() {
-        return rotation;
+        final RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose = limb.getPose();
+        return pose != null ? pose.rotations[limb.getPoseIndex()] : rotation;
     }
 
     /**
@@ -52,7 +54,12 @@ public class AnimationJoint<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
      * @return Self
      */
     public AnimationJoint<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> setRotation(double rotation) {
-        this.rotation = rotation;
+        final RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose = limb.getPose();
+        if (pose != null) {
+            pose.rotations[limb.getPoseIndex()] = rotation;
+        } else {
+            this.rotation = rotation;
+        }
         return this;
     }
 
@@ -67,8 +74,12 @@ public class AnimationJoint<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
         if (!parent.isFinalized()) {
             throw new IllegalStateException("Attempted to get accessor for joint state when the joint has not been finalized.");
         }
-        // State access should inherently have an instance of "this" with proper fields in scope
-        return new StateAccess();
+        // State access should inherently have an instance of "this" with proper fields in scope. It holds nothing else,
+        // so one instance is kept rather than allocating one on every call.
+        if (stateAccess == null) {
+            stateAccess = new StateAccess();
+        }
+        return stateAccess;
     }
 
     /**
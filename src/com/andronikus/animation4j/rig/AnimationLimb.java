@@ -7,6 +7,7 @@ import com.andronikus.animation4j.stopmotion.StopMotionController;
 import com.andronikus.animation4j.util.RenderRatio;
 
 import java.awt.Image;
+import java.util.Collections;
 import java.util.HashMap;
 
 /**
@@ -23,6 +24,11 @@ public class AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
     private int widthChange = 0;
     private int heightChange = 0;
 
+    // Pose the limb's animated values are kept in once it is a part of a rig
+    private RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose = null;
+    private int poseIndex = -1;
+    private StateAccess stateAccess = null;
+
     /**
      * Render the limb.
      *
@@ -49,11 +55,42 @@ public class AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
             throw new IllegalStateException("Animation limb must be finalized before rendering.");
         }
 
-        if (!renderInstance.imageProvider.canAnimateEntity(animatedEntity)) {
-            throw new IllegalArgumentException("Image provider cannot animate given entity.");
+        // A limb rendered on its own, outside of a rig, gets a template of its own
+        if (pose == null) {
+            final RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> template = new RigTemplate<>(Collections.singletonList(this));
+            template.bindLimbs(Collections.singletonList(this));
         }
 
-        renderInstance.doRender(graphics, contextObject, animatedEntity, centerX, centerY, widthChange, heightChange, angle, pretilt, renderRatio);
+        pose.getTemplate().renderLimb(graphics, pose, poseIndex, contextObject, animatedEntity, centerX, centerY, angle, pretilt, renderRatio);
+    }
+
+    /**
+     * Bind the limb to a pose. From then on, the limb's animated values are read from and written to the pose.
+     *
+     * @param pose The pose
+     * @param poseIndex Index of the limb in the pose
+     */
+    void bindPose(RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose, int poseIndex) {
+        this.pose = pose;
+        this.poseIndex = poseIndex;
+    }
+
+    /**
+     * Get the pose the limb is bound to.
+     *
+     * @return The pose, null if the limb is not a part of a rig
+     */
+    RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> getPose() {
+        return pose;
+    }
+
+    /**
+     * Get the index of the limb in the pose it is bound to.
+     *
+     * @return The index
+     */
+    int getPoseIndex() {
+        return poseIndex;
     }
 
     /**
@@ -161,10 +198,23 @@ public class AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
      * @return Self
      */
     public AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> setReflectX(boolean reflectX) {
-        this.renderInstance.reflectX = reflectX;
+        if (pose != null) {
+            pose.reflectX[poseIndex] = reflectX;
+        } else {
+            this.renderInstance.reflectX = reflectX;
+        }
         return this;
     }
 
+    /**
+     * Get whether this is reflected along the X-axis (reflect before rotate).
+     *
+     * @return Reflect before rotate flag
+     */
+    public boolean isReflectX() {
+        return pose != null ? pose.reflectX[poseIndex] : renderInstance.reflectX;
+    }
+
     /**
      * Set whether this is reflected along the Y-axis (reflect before rotate).
      *
@@ -172,10 +222,41 @@ public class AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
      * @return Self
      */
     public AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> setReflectY(boolean reflectY) {
-        this.renderInstance.reflectY = reflectY;
+        if (pose != null) {
+            pose.reflectY[poseIndex] = reflectY;
+        } else {
+            this.renderInstance.reflectY = reflectY;
+        }
         return this;
     }
 
+    /**
+     * Get whether this is reflected along the Y-axis (reflect before rotate).
+     *
+     * @return Reflect before rotate flag
+     */
+    public boolean isReflectY() {
+        return pose != null ? pose.reflectY[poseIndex] : renderInstance.reflectY;
+    }
+
+    /**
+     * Get the change in width of the limb for the current render.
+     *
+     * @return The change in width
+     */
+    int getWidthChange() {
+        return pose != null ? pose.widthChanges[poseIndex] : widthChange;
+    }
+
+    /**
+     * Get the change in height of the limb for the current render.
+     *
+     * @return The change in height
+     */
+    int getHeightChange() {
+        return pose != null ? pose.heightChanges[poseIndex] : heightChange;
+    }
+
     /**
      * Set a static image as the image provider.
      *
@@ -258,8 +339,12 @@ public class AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
         if (!finalized) {
             throw new IllegalStateException("Attempted to get accessor for limb state when the limb has not been finalized.");
         }
-        // State access should inherently have an instance of "this" with proper fields in scope
-        return new StateAccess();
+        // State access should inherently have an instance of "this" with proper fields in scope. It holds nothing else,
+        // so one instance is kept rather than allocating one on every call.
+        if (stateAccess == null) {
+            stateAccess = new StateAccess();
+        }
+        return stateAccess;
     }
 
     /**
@@ -273,7 +358,11 @@ public class AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
          * @param aWidthChange The change in width
          */
         public void setWidthChange(int aWidthChange) {
-            widthChange = aWidthChange;
+            if (pose != null) {
+                pose.widthChanges[poseIndex] = aWidthChange;
+            } else {
+                widthChange = aWidthChange;
+            }
         }
 
         /**
@@ -282,7 +371,11 @@ public class AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
          * @param aHeightChange The change in height
          */
         public void setHeightChange(int aHeightChange) {
-            heightChange = aHeightChange;
+            if (pose != null) {
+                pose.heightChanges[poseIndex] = aHeightChange;
+            } else {
+                heightChange = aHeightChange;
+            }
         }
 
         /**
@@ -292,7 +385,13 @@ public class AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
          * @param distanceMultiplier The distance multiplier
          */
         public void setDistanceFromFulcrumForJoint(int jointPosition, double distanceMultiplier) {
-            renderInstance.jointRegistrations.get(jointPosition).distanceFromFulcrumMultiplier = distanceMultiplier;
+            final JointRegistration registration = renderInstance.jointRegistrations.get(jointPosition);
+            final AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> jointedLimb = registration.joint.getLimb();
+            if (jointedLimb.pose != null) {
+                jointedLimb.pose.fulcrumDistanceMultipliers[jointedLimb.poseIndex] = distanceMultiplier;
+            } else {
+                registration.distanceFromFulcrumMultiplier = distanceMultiplier;
+            }
         }
     }
 
@@ -3,6 +3,7 @@ package com.andronikus.animation4j.rig;
 import com.andronikus.animation4j.rig.graphics.GraphicsContext;
 import com.andronikus.animation4j.util.RenderRatio;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
@@ -16,8 +17,13 @@ import java.util.Objects;
  */
 public abstract class AnimationRig<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
 
+    // Never recalculated, so it is safe to share rather than allocate on every render
+    private static final RenderRatio ONE_TO_ONE_RATIO = new RenderRatio(1, 1, 1, 1);
+
     private List<AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>> rootLimbs;
     private HashMap<Short, AnimationJoint<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>> jointMap = new HashMap<>();
+    private final RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> template;
+    private final RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose;
 
     /**
      * Instantiate an animation rig.
@@ -40,6 +46,36 @@ public abstract class AnimationRig<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
         rootLimbs.forEach(limb -> {
             limb.collectJoints(jointMap);
         });
+        template = new RigTemplate<>(rootLimbs);
+        pose = template.bindLimbs(rootLimbs);
+    }
+
+    /**
+     * Instantiate an animation rig from the template of another rig of the same kind. Limbs are not built, the rig only
+     * gets a pose of its own, so this is much cheaper than building the rig from scratch.
+     *
+     * Limbs and joints are not available on a rig instantiated this way, they can only be addressed through the template.
+     *
+     * @param template The template shared with other rigs
+     * @param animatedObject The object being animated
+     */
+    public AnimationRig(RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> template, ANIMATION_OF_TYPE animatedObject) {
+        this.template = Objects.requireNonNull(template, "template must not be null.");
+        rootLimbs = Collections.emptyList();
+        pose = template.createPose();
+        attachImageProviders(pose, animatedObject);
+    }
+
+    /**
+     * Optional method that is called when the rig is instantiated from a shared template. Image providers that keep
+     * state about the entity they animate, such as those using a stop motion controller, should be set on the pose here
+     * so that they are not shared with other rigs.
+     *
+     * @param pose The pose of this rig
+     * @param animatedObject The object being animated
+     */
+    protected void attachImageProviders(RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose, ANIMATION_OF_TYPE animatedObject) {
+        // Empty by default
     }
 
     /**
@@ -53,7 +89,9 @@ public abstract class AnimationRig<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
     }
 
     /**
-     * Render the rig from its center point.
+     * Render the rig from its center point. Image providers are asked for their next image, so stop motion image
+     * providers advance on every call. To render a rig several times per tick, use
+     * {@link #updateImages(Object, Object)} and {@link #renderPosed(GraphicsContext, int, int, double)} instead.
      *
      * @param graphics The graphics context
      * @param contextObject The object that gives greater context
@@ -70,8 +108,7 @@ public abstract class AnimationRig<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
             int centerY,
             double rotation
     ) {
-        final RenderRatio oneToOneRatio = new RenderRatio(1, 1, 1, 1);
-        renderFromCenter(graphics, contextObject, animatedEntity, centerX, centerY, rotation, oneToOneRatio);
+        renderFromCenter(graphics, contextObject, animatedEntity, centerX, centerY, rotation, ONE_TO_ONE_RATIO);
     }
 
     /**
@@ -94,7 +131,77 @@ public abstract class AnimationRig<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
         double rotation,
         RenderRatio renderRatio
     ) {
-        rootLimbs.forEach(limb -> limb.render(graphics, contextObject, animatedEntity, centerX, centerY, rotation, 0, renderRatio));
+        template.render(graphics, pose, contextObject, animatedEntity, centerX, centerY, rotation, renderRatio);
+    }
+
+    /**
+     * Fetch the image of every limb from its image provider, advancing image providers such as stop motion controllers.
+     * Done as part of updating the rig, so that {@link #renderPosed(GraphicsContext, int, int, double, RenderRatio)} can
+     * draw the same pose any amount of times.
+     *
+     * @param contextObject The object that gives greater context
+     * @param animatedEntity The object being animated
+     */
+    public void updateImages(CONTEXT_OBJECT_TYPE contextObject, ANIMATION_OF_TYPE animatedEntity) {
+        template.updateImages(pose, contextObject, animatedEntity);
+    }
+
+    /**
+     * Fetch the image of every limb from its image provider after skipping images, as when the rig is posed as the last
+     * of several ticks advanced at once.
+     *
+     * @param contextObject The object that gives greater context
+     * @param animatedEntity The object being animated
+     * @param skippedImages Images each image provider skips before the one fetched
+     */
+    public void updateImages(CONTEXT_OBJECT_TYPE contextObject, ANIMATION_OF_TYPE animatedEntity, long skippedImages) {
+        template.updateImages(pose, contextObject, animatedEntity, skippedImages);
+    }
+
+    /**
+     * Render the rig from its center point as it was last updated, without advancing anything.
+     *
+     * @param graphics The graphics context
+     * @param centerX The X of the center point
+     * @param centerY The Y of the center point
+     * @param rotation The rotation
+     */
+    public void renderPosed(GraphicsContext graphics, int centerX, int centerY, double rotation) {
+        renderPosed(graphics, centerX, centerY, rotation, ONE_TO_ONE_RATIO);
+    }
+
+    /**
+     * Render the rig from its center point as it was last updated, without advancing anything.
+     *
+     * @param graphics The graphics context
+     * @param centerX The X of the center point
+     * @param centerY The Y of the center point
+     * @param rotation The rotation
+     * @param renderRatio Scale at which is to be rendered
+     */
+    public void renderPosed(GraphicsContext graphics, int centerX, int centerY, double rotation, RenderRatio renderRatio) {
+        template.renderPosed(graphics, pose, centerX, centerY, rotation, renderRatio);
+    }
+
+    /**
+     * Render the rig from its center point as it was last updated, leaving out limbs too small to be worth drawing.
+     *
+     * @param graphics The graphics context
+     * @param centerX The X of the center point
+     * @param centerY The Y of the center point
+     * @param rotation The rotation
+     * @param renderRatio Scale at which is to be rendered
+     * @param minimumLimbPixels Pixels a limb must be wide or tall once scaled to be drawn
+     */
+    public void renderPosed(
+        GraphicsContext graphics,
+        int centerX,
+        int centerY,
+        double rotation,
+        RenderRatio renderRatio,
+        int minimumLimbPixels
+    ) {
+        template.renderPosed(graphics, pose, centerX, centerY, rotation, renderRatio, minimumLimbPixels);
     }
 
     /**
@@ -119,7 +226,39 @@ public abstract class AnimationRig<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
     public abstract boolean checkIfObjectIsAnimatedEntity(ANIMATION_OF_TYPE object);
 
     /**
-     * Get a {@link AnimationJoint} in the rig for its id.
+     * Work out where every limb of the rig would be rendered, without rendering it.
+     *
+     * @param centerX The X of the center point
+     * @param centerY The Y of the center point
+     * @param rotation The rotation
+     * @param renderRatio Scale at which it would be rendered
+     * @param buffer The buffer to write into, see {@link RigTemplate#solve} for its layout
+     * @param offset Position in the buffer to start writing at
+     */
+    public void solveFromCenter(int centerX, int centerY, double rotation, RenderRatio renderRatio, double[] buffer, int offset) {
+        template.solve(pose, centerX, centerY, rotation, renderRatio, buffer, offset);
+    }
+
+    /**
+     * Get the compiled structure of the rig, which can be shared with other rigs of the same kind.
+     *
+     * @return The template
+     */
+    public RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> getTemplate() {
+        return template;
+    }
+
+    /**
+     * Get the pose of the rig.
+     *
+     * @return The pose
+     */
+    public RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> getPose() {
+        return pose;
+    }
+
+    /**
+     * Get a {@link AnimationJoint} in the rig for its id. Only available on rigs that built their own limbs.
      *
      * @param id The id
      * @return The Joint with given ID
@@ -33,4 +33,13 @@ public interface ILimbImageProvider<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
      * @return The image
      */
     Image getImage();
+
+    /**
+     * Skip images that would have been asked for, as when the rig is advanced several ticks at once. Called after context
+     * is provided and before the next image is asked for. Does nothing by default, which suits providers whose images do
+     * not change over time.
+     *
+     * @param count The amount of images to skip
+     */
+    default void skipImages(long count) {}
 }
@@ -0,0 +1,119 @@
+package com.andronikus.animation4j.rig;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands poses of a rig from the thread updating it to the thread rendering it, so that the renderer can draw the rig
+ * part of the way between the last two updates. Meant for updating at a fixed rate, slower than the renderer draws.
+ *
+ * A lock-free triple buffer. The updating thread fills a back frame and swaps it with the middle frame, the rendering
+ * thread swaps the middle frame with its front frame when a new one has been published. Neither thread ever waits on
+ * the other, and the renderer always gets the latest pair of poses whole. Exactly one thread may publish and exactly one
+ * thread may interpolate.
+ *
+ * @param <CONTEXT_OBJECT_TYPE> Type of object providing greater context
+ * @param <ANIMATION_OF_TYPE> Type of object being animated
+ * @author Andronikus
+ */
+public final class InterpolatedPoseBuffer<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
+
+    // Set on the middle frame index when it holds a frame the renderer has not taken yet
+    private static final int FRESH_FRAME = 4;
+    private static final int FRAME_INDEX_MASK = 3;
+
+    private final Frame<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>[] frames;
+    private final AtomicInteger middleFrame = new AtomicInteger(1);
+
+    // Only touched by the updating thread
+    private int backFrame = 0;
+    private final RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> lastPublishedPose;
+    private double lastPublishedRootRotation = 0.0;
+    private boolean anyPublished = false;
+
+    // Only touched by the rendering thread
+    private int frontFrame = 2;
+
+    /**
+     * Instantiate a buffer of poses of a rig.
+     *
+     * @param template The template of the rig
+     */
+    public InterpolatedPoseBuffer(RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> template) {
+        @SuppressWarnings({"rawtypes", "unchecked"}) // Generic arrays cannot be created, and it only holds frames of the rig
+        final Frame<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>[] createdFrames = new Frame[3];
+        for (int frameIndex = 0; frameIndex < createdFrames.length; frameIndex++) {
+            createdFrames[frameIndex] = new Frame<>(template.createPose(), template.createPose());
+        }
+        frames = createdFrames;
+        lastPublishedPose = template.createPose();
+    }
+
+    /**
+     * Publish the pose of an update. Called by the updating thread after every update, the pose it replaces becomes the
+     * pose interpolated from.
+     *
+     * @param pose The pose, copied so that it can keep being updated
+     * @param rootRotation Rotation of the whole rig from rotational key frames
+     */
+    public void publish(RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose, double rootRotation) {
+        final Frame<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> frame = frames[backFrame];
+        frame.from.copyFrom(anyPublished ? lastPublishedPose : pose);
+        frame.fromRootRotation = anyPublished ? lastPublishedRootRotation : rootRotation;
+        frame.to.copyFrom(pose);
+        frame.toRootRotation = rootRotation;
+        frame.published = true;
+
+        lastPublishedPose.copyFrom(pose);
+        lastPublishedRootRotation = rootRotation;
+        anyPublished = true;
+
+        backFrame = middleFrame.getAndSet(backFrame | FRESH_FRAME) & FRAME_INDEX_MASK;
+    }
+
+    /**
+     * Set a pose to be part of the way between the last two published poses. Called by the rendering thread.
+     *
+     * @param target The pose to set, owned by the rendering thread
+     * @param alpha How far between the poses, from 0 at the older to 1 at the newer
+     * @return Rotation of the whole rig part of the way between the poses, NaN if no pose has been published yet
+     */
+    public double interpolateInto(RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> target, double alpha) {
+        if ((middleFrame.get() & FRESH_FRAME) != 0) {
+            frontFrame = middleFrame.getAndSet(frontFrame) & FRAME_INDEX_MASK;
+        }
+
+        final Frame<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> frame = frames[frontFrame];
+        if (!frame.published) {
+            return Double.NaN;
+        }
+
+        final double clampedAlpha = Math.max(0.0, Math.min(1.0, alpha));
+        target.interpolate(frame.from, frame.to, clampedAlpha);
+        return frame.fromRootRotation + (frame.toRootRotation - frame.fromRootRotation) * clampedAlpha;
+    }
+
+    /**
+     * A pair of consecutive poses.
+     *
+     * @param <CONTEXT_OBJECT_TYPE> Type of object providing greater context
+     * @param <ANIMATION_OF_TYPE> Type of object being animated
+     */
+    private static final class Frame<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
+        final RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> from;
+        final RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> to;
+        double fromRootRotation = 0.0;
+        double toRootRotation = 0.0;
+        boolean published = false;
+
+        /**
+         * Instantiate a pair of poses.
+         *
+         * @param from The pose at the start
+         * @param to The pose at the end
+         */
+        Frame(RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> from, RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.andronikus.animation4j.rig;
+
+import com.andronikus.animation4j.rig.graphics.GraphicsContext;
+import com.andronikus.animation4j.rig.graphics.OffscreenGraphicsContext;
+import com.andronikus.animation4j.util.RenderRatio;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+
+/**
+ * Sprite a posed rig is rendered into, so that the rig can be drawn as one image rather than limb by limb. Meant for
+ * entities drawn so small that the difference does not show. The sprite is rotated as a whole, so at render ratios other
+ * than one to one, where each limb is rotated about a point off of its center, it can sit a few pixels from the rig.
+ *
+ * @author Andronikus
+ */
+public final class PrerenderedRigSprite {
+
+    private final int width;
+    private final int height;
+    private OffscreenGraphicsContext sprite = null;
+    private double spriteWidthScale = 1.0;
+    private double spriteHeightScale = 1.0;
+    private final AffineTransform spriteTransform = new AffineTransform();
+
+    /**
+     * Instantiate a sprite a rig can be rendered into.
+     *
+     * @param width Width of the sprite, unscaled
+     * @param height Height of the sprite, unscaled
+     */
+    public PrerenderedRigSprite(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Sprite dimensions must be positive.");
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Render the pose of a rig into the sprite, replacing what was rendered into it before. The rig is rendered from the
+     * center of the sprite with the images it was last updated with.
+     *
+     * @param rig The rig
+     * @param rotation The rotation
+     * @param renderRatio Scale at which is to be rendered
+     */
+    public void capture(AnimationRig<?, ?> rig, double rotation, RenderRatio renderRatio) {
+        final int spriteWidth = Math.max(1, (int) Math.ceil(Math.abs(renderRatio.scaleHorizontal((double) width))));
+        final int spriteHeight = Math.max(1, (int) Math.ceil(Math.abs(renderRatio.scaleVertical((double) height))));
+        if (sprite == null || sprite.getImage().getWidth() != spriteWidth || sprite.getImage().getHeight() != spriteHeight) {
+            if (sprite != null) {
+                sprite.dispose();
+            }
+            sprite = new OffscreenGraphicsContext(spriteWidth, spriteHeight);
+        } else {
+            final Graphics2D spriteGraphics = sprite.getGraphics2d();
+            final Composite composite = spriteGraphics.getComposite();
+            spriteGraphics.setComposite(AlphaComposite.Clear);
+            spriteGraphics.fillRect(0, 0, spriteWidth, spriteHeight);
+            spriteGraphics.setComposite(composite);
+        }
+
+        spriteWidthScale = renderRatio.getWidthScale();
+        spriteHeightScale = renderRatio.getHeightScale();
+        rig.renderPosed(sprite, spriteWidth / 2, spriteHeight / 2, rotation, renderRatio);
+    }
+
+    /**
+     * Has the sprite been captured at a render ratio of the same scale?
+     *
+     * @param renderRatio The render ratio
+     * @return True if it has been captured at that scale
+     */
+    public boolean isCapturedAt(RenderRatio renderRatio) {
+        return sprite != null &&
+            spriteWidthScale == renderRatio.getWidthScale() &&
+            spriteHeightScale == renderRatio.getHeightScale();
+    }
+
+    /**
+     * Draw the sprite with its center at a point. Nothing is drawn if nothing has been captured.
+     *
+     * @param graphics The graphics context
+     * @param centerX The X of the center point
+     * @param centerY The Y of the center point
+     * @param rotation The rotation
+     * @param renderRatio Scale at which is to be drawn
+     */
+    public void render(GraphicsContext graphics, int centerX, int centerY, double rotation, RenderRatio renderRatio) {
+        if (sprite == null) {
+            return;
+        }
+
+        final int spriteWidth = sprite.getImage().getWidth();
+        final int spriteHeight = sprite.getImage().getHeight();
+
+        // Rigs are placed with Y going up from the bottom of the component, and rotate counterclockwise
+        final AffineTransform transform = spriteTransform;
+        transform.setToTranslation(centerX, graphics.getComponentHeight() - centerY);
+        transform.rotate(-rotation);
+        transform.scale(
+            renderRatio.getWidthScale() / spriteWidthScale,
+            renderRatio.getHeightScale() / spriteHeightScale
+        );
+        transform.translate(-(spriteWidth / 2), -(spriteHeight - spriteHeight / 2));
+        graphics.getGraphics2d().drawImage(sprite.getImage(), transform, graphics.getImageObserver());
+    }
+}
@@ -0,0 +1,300 @@
+package com.andronikus.animation4j.rig;
+
+import java.awt.Image;
+import java.awt.geom.AffineTransform;
+
+/**
+ * The pose of one entity's rig. All of the values that change while animating are kept here as parallel arrays indexed
+ * by limb, where the values of a joint are kept at the index of the limb it leads to. Everything that does not change is
+ * kept in the {@link RigTemplate} shared by all poses of the same rig.
+ *
+ * @param <CONTEXT_OBJECT_TYPE> Type of object providing greater context
+ * @param <ANIMATION_OF_TYPE> Type of object being animated
+ * @author Andronikus
+ */
+public final class RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
+
+    private final RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> template;
+
+    // Joint values, by the index of the limb the joint leads to
+    final double[] rotations;
+    final double[] fulcrumDistanceMultipliers;
+
+    // Limb values
+    final int[] widthChanges;
+    final int[] heightChanges;
+    final boolean[] reflectX;
+    final boolean[] reflectY;
+
+    // Where each limb was last placed when rendering. Only scratch space for the render, kept here so that rendering
+    // does not allocate.
+    final int[] centerXs;
+    final int[] centerYs;
+    final double[] angles;
+    final double[] pretilts;
+    final AffineTransform limbTransform = new AffineTransform();
+
+    // Image of each limb, fetched from its image provider when the images of the pose were last updated
+    final Image[] images;
+
+    // Shared with the template until an image provider is set for this pose alone
+    ILimbImageProvider<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>[] imageProviders;
+    private boolean imageProvidersShared = true;
+
+    /**
+     * Instantiate a pose as a copy of another.
+     *
+     * @param template The template the pose is for
+     * @param pose The pose to copy
+     */
+    RigPose(RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> template, RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose) {
+        this.template = template;
+        rotations = pose.rotations.clone();
+        fulcrumDistanceMultipliers = pose.fulcrumDistanceMultipliers.clone();
+        widthChanges = pose.widthChanges.clone();
+        heightChanges = pose.heightChanges.clone();
+        reflectX = pose.reflectX.clone();
+        reflectY = pose.reflectY.clone();
+        imageProviders = pose.imageProviders;
+        centerXs = new int[rotations.length];
+        centerYs = new int[rotations.length];
+        angles = new double[rotations.length];
+        pretilts = new double[rotations.length];
+        images = new Image[rotations.length];
+    }
+
+    /**
+     * Instantiate a blank pose.
+     *
+     * @param template The template the pose is for
+     * @param imageProviders The image providers of the template
+     */
+    RigPose(
+        RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> template,
+        ILimbImageProvider<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>[] imageProviders
+    ) {
+        final int limbCount = imageProviders.length;
+        this.template = template;
+        rotations = new double[limbCount];
+        fulcrumDistanceMultipliers = new double[limbCount];
+        widthChanges = new int[limbCount];
+        heightChanges = new int[limbCount];
+        reflectX = new boolean[limbCount];
+        reflectY = new boolean[limbCount];
+        this.imageProviders = imageProviders;
+        centerXs = new int[limbCount];
+        centerYs = new int[limbCount];
+        angles = new double[limbCount];
+        pretilts = new double[limbCount];
+        images = new Image[limbCount];
+    }
+
+    /**
+     * Get the template this pose is for.
+     *
+     * @return The template
+     */
+    public RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> getTemplate() {
+        return template;
+    }
+
+    /**
+     * Get the rotation of the joint leading to a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @return The rotation
+     */
+    public double getRotation(int limbIndex) {
+        return rotations[limbIndex];
+    }
+
+    /**
+     * Set the rotation of the joint leading to a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @param rotation The rotation
+     */
+    public void setRotation(int limbIndex, double rotation) {
+        rotations[limbIndex] = rotation;
+    }
+
+    /**
+     * Get the multiplier for the distance of a limb from the fulcrum of its parent.
+     *
+     * @param limbIndex Index of the limb
+     * @return The multiplier
+     */
+    public double getFulcrumDistanceMultiplier(int limbIndex) {
+        return fulcrumDistanceMultipliers[limbIndex];
+    }
+
+    /**
+     * Set the multiplier for the distance of a limb from the fulcrum of its parent.
+     *
+     * @param limbIndex Index of the limb
+     * @param fulcrumDistanceMultiplier The multiplier
+     */
+    public void setFulcrumDistanceMultiplier(int limbIndex, double fulcrumDistanceMultiplier) {
+        fulcrumDistanceMultipliers[limbIndex] = fulcrumDistanceMultiplier;
+    }
+
+    /**
+     * Get the change in width of a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @return The width change
+     */
+    public int getWidthChange(int limbIndex) {
+        return widthChanges[limbIndex];
+    }
+
+    /**
+     * Set the change in width of a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @param widthChange The width change
+     */
+    public void setWidthChange(int limbIndex, int widthChange) {
+        widthChanges[limbIndex] = widthChange;
+    }
+
+    /**
+     * Get the change in height of a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @return The height change
+     */
+    public int getHeightChange(int limbIndex) {
+        return heightChanges[limbIndex];
+    }
+
+    /**
+     * Set the change in height of a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @param heightChange The height change
+     */
+    public void setHeightChange(int limbIndex, int heightChange) {
+        heightChanges[limbIndex] = heightChange;
+    }
+
+    /**
+     * Get whether a limb is reflected along the X-axis.
+     *
+     * @param limbIndex Index of the limb
+     * @return Reflect X
+     */
+    public boolean isReflectX(int limbIndex) {
+        return reflectX[limbIndex];
+    }
+
+    /**
+     * Set whether a limb is reflected along the X-axis.
+     *
+     * @param limbIndex Index of the limb
+     * @param reflect Reflect X
+     */
+    public void setReflectX(int limbIndex, boolean reflect) {
+        reflectX[limbIndex] = reflect;
+    }
+
+    /**
+     * Get whether a limb is reflected along the Y-axis.
+     *
+     * @param limbIndex Index of the limb
+     * @return Reflect Y
+     */
+    public boolean isReflectY(int limbIndex) {
+        return reflectY[limbIndex];
+    }
+
+    /**
+     * Set whether a limb is reflected along the Y-axis.
+     *
+     * @param limbIndex Index of the limb
+     * @param reflect Reflect Y
+     */
+    public void setReflectY(int limbIndex, boolean reflect) {
+        reflectY[limbIndex] = reflect;
+    }
+
+    /**
+     * Copy the joint and limb values, and the images, of another pose of the same template into this pose.
+     *
+     * @param pose The pose to copy
+     */
+    void copyFrom(RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose) {
+        final int limbCount = rotations.length;
+        System.arraycopy(pose.rotations, 0, rotations, 0, limbCount);
+        System.arraycopy(pose.fulcrumDistanceMultipliers, 0, fulcrumDistanceMultipliers, 0, limbCount);
+        System.arraycopy(pose.widthChanges, 0, widthChanges, 0, limbCount);
+        System.arraycopy(pose.heightChanges, 0, heightChanges, 0, limbCount);
+        System.arraycopy(pose.reflectX, 0, reflectX, 0, limbCount);
+        System.arraycopy(pose.reflectY, 0, reflectY, 0, limbCount);
+        System.arraycopy(pose.images, 0, images, 0, limbCount);
+    }
+
+    /**
+     * Set this pose to be part of the way between two poses of the same template. Continuous values are interpolated
+     * the same way key frames are. Reflections and images cannot be, so they are taken from whichever pose is nearer.
+     *
+     * @param from The pose at the start
+     * @param to The pose at the end
+     * @param alpha How far between the poses, from 0 at the start to 1 at the end
+     */
+    void interpolate(
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> from,
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> to,
+        double alpha
+    ) {
+        final RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> nearest = alpha < 0.5 ? from : to;
+        for (int limbIndex = 0; limbIndex < rotations.length; limbIndex++) {
+            rotations[limbIndex] = from.rotations[limbIndex] + (to.rotations[limbIndex] - from.rotations[limbIndex]) * alpha;
+            fulcrumDistanceMultipliers[limbIndex] = from.fulcrumDistanceMultipliers[limbIndex] +
+                (to.fulcrumDistanceMultipliers[limbIndex] - from.fulcrumDistanceMultipliers[limbIndex]) * alpha;
+            widthChanges[limbIndex] = from.widthChanges[limbIndex] +
+                (int) ((double) (to.widthChanges[limbIndex] - from.widthChanges[limbIndex]) * alpha);
+            heightChanges[limbIndex] = from.heightChanges[limbIndex] +
+                (int) ((double) (to.heightChanges[limbIndex] - from.heightChanges[limbIndex]) * alpha);
+            reflectX[limbIndex] = nearest.reflectX[limbIndex];
+            reflectY[limbIndex] = nearest.reflectY[limbIndex];
+            images[limbIndex] = nearest.images[limbIndex];
+        }
+    }
+
+    /**
+     * Get the image of a limb, as fetched when the images of the pose were last updated.
+     *
+     * @param limbIndex Index of the limb
+     * @return The image, null if the limb has nothing to draw
+     */
+    public Image getImage(int limbIndex) {
+        return images[limbIndex];
+    }
+
+    /**
+     * Get the image provider of a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @return The image provider
+     */
+    public ILimbImageProvider<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> getImageProvider(int limbIndex) {
+        return imageProviders[limbIndex];
+    }
+
+    /**
+     * Set the image provider of a limb for this pose only. Image providers that keep state about the entity they animate,
+     * such as those using a stop motion controller, should be given to each pose this way rather than shared through the
+     * template.
+     *
+     * @param limbIndex Index of the limb
+     * @param provider The image provider
+     */
+    public void setImageProvider(int limbIndex, ILimbImageProvider<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> provider) {
+        if (imageProvidersShared) {
+            imageProviders = imageProviders.clone();
+            imageProvidersShared = false;
+        }
+        imageProviders[limbIndex] = provider;
+    }
+}
@@ -0,0 +1,747 @@
+package com.andronikus.animation4j.rig;
+
+import com.andronikus.animation4j.rig.graphics.GraphicsContext;
+import com.andronikus.animation4j.util.RenderRatio;
+
+import java.awt.Image;
+import java.awt.geom.AffineTransform;
+import java.awt.image.ImageObserver;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled structure of an animation rig. Holds everything about a rig that does not change while it is animated: the
+ * limbs, how they are jointed together, their sizes and their default image providers. A template can be shared by every
+ * entity rigged the same way, with each entity only owning a {@link RigPose}.
+ *
+ * Limbs are indexed depth-first, in the order the root limbs and then their joints were registered.
+ *
+ * @param <CONTEXT_OBJECT_TYPE> Type of object providing greater context
+ * @param <ANIMATION_OF_TYPE> Type of object being animated
+ * @author Andronikus
+ */
+public final class RigTemplate<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> {
+
+    // Layout of a limb solved by solve
+    public static final int SOLVED_CENTER_X = 0;
+    public static final int SOLVED_CENTER_Y = 1;
+    public static final int SOLVED_ROTATION = 2;
+    public static final int SOLVED_WIDTH = 3;
+    public static final int SOLVED_HEIGHT = 4;
+    public static final int SOLVED_STRIDE = 5;
+
+    // Topology
+    private final int[] rootLimbIndices;
+    private final int[] parentIndices;
+    private final int[][] childIndices;
+    private final int[] subtreeSizes;
+
+    // Limbs in the order they are drawn, with limbs rendered beneath their parent first. The limbs of every subtree are
+    // contiguous, starting at the draw position of the subtree's limb.
+    private final int[] drawOrder;
+    private final int[] drawPositions;
+    private final Map<Short, Integer> limbIndicesByJointId = new HashMap<>();
+
+    // Limb values
+    private final int[] widths;
+    private final int[] heights;
+
+    // Joint values, by the index of the limb the joint leads to
+    private final short[] jointIds;
+    private final double[] anglesFromFulcrum;
+    private final int[] distancesFromFulcrum;
+    private final boolean[] renderBeneath;
+
+    // Pose of the rig as it was rigged, copied into each new pose
+    private final RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> defaultPose;
+
+    /**
+     * Compile a template from the root limbs of a rig.
+     *
+     * @param rootLimbs The root limbs
+     */
+    RigTemplate(List<AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>> rootLimbs) {
+        final List<AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>> limbs = new ArrayList<>();
+        final List<AnimationJoint<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>> joints = new ArrayList<>();
+        final List<AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>.JointRegistration> registrations = new ArrayList<>();
+        final List<Integer> parents = new ArrayList<>();
+
+        rootLimbIndices = new int[rootLimbs.size()];
+        for (int rootPosition = 0; rootPosition < rootLimbs.size(); rootPosition++) {
+            rootLimbIndices[rootPosition] = limbs.size();
+            collectLimbs(rootLimbs.get(rootPosition), -1, null, limbs, joints, registrations, parents);
+        }
+
+        final int limbCount = limbs.size();
+        parentIndices = new int[limbCount];
+        childIndices = new int[limbCount][];
+        widths = new int[limbCount];
+        heights = new int[limbCount];
+        jointIds = new short[limbCount];
+        anglesFromFulcrum = new double[limbCount];
+        distancesFromFulcrum = new int[limbCount];
+        renderBeneath = new boolean[limbCount];
+
+        @SuppressWarnings({"rawtypes", "unchecked"}) // Generic arrays cannot be created, and it only holds providers of the rig
+        final ILimbImageProvider<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>[] imageProviders = new ILimbImageProvider[limbCount];
+        defaultPose = new RigPose<>(this, imageProviders);
+
+        for (int limbIndex = 0; limbIndex < limbCount; limbIndex++) {
+            final AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> limb = limbs.get(limbIndex);
+            final LimbRenderInstance<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> rigging = limb.renderInstance;
+
+            parentIndices[limbIndex] = parents.get(limbIndex);
+            childIndices[limbIndex] = new int[rigging.jointRegistrations.size()];
+            widths[limbIndex] = rigging.width;
+            heights[limbIndex] = rigging.height;
+            imageProviders[limbIndex] = rigging.imageProvider;
+
+            defaultPose.widthChanges[limbIndex] = limb.getWidthChange();
+            defaultPose.heightChanges[limbIndex] = limb.getHeightChange();
+            defaultPose.reflectX[limbIndex] = limb.isReflectX();
+            defaultPose.reflectY[limbIndex] = limb.isReflectY();
+
+            final AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>.JointRegistration registration = registrations.get(limbIndex);
+            if (registration == null) {
+                defaultPose.fulcrumDistanceMultipliers[limbIndex] = 1.0;
+                continue;
+            }
+
+            jointIds[limbIndex] = registration.id;
+            anglesFromFulcrum[limbIndex] = registration.angleFromFulcrum;
+            distancesFromFulcrum[limbIndex] = registration.distanceFromFulcrum;
+            renderBeneath[limbIndex] = registration.renderBeneath;
+            defaultPose.rotations[limbIndex] = joints.get(limbIndex).getRotation();
+            defaultPose.fulcrumDistanceMultipliers[limbIndex] = registration.distanceFromFulcrumMultiplier;
+
+            if (limbIndicesByJointId.put(registration.id, limbIndex) != null) {
+                throw new IllegalArgumentException("More than one joint with ID of " + registration.id + " exists.");
+            }
+        }
+
+        // Children are kept in the order their joints were registered on the parent
+        final int[] childCounts = new int[limbCount];
+        for (int limbIndex = 0; limbIndex < limbCount; limbIndex++) {
+            final int parentIndex = parentIndices[limbIndex];
+            if (parentIndex >= 0) {
+                childIndices[parentIndex][childCounts[parentIndex]++] = limbIndex;
+            }
+        }
+
+        // Limbs are indexed depth-first, so each limb's subtree is the limbs after it that descend from it
+        subtreeSizes = new int[limbCount];
+        for (int limbIndex = limbCount - 1; limbIndex >= 0; limbIndex--) {
+            subtreeSizes[limbIndex]++;
+            if (parentIndices[limbIndex] >= 0) {
+                subtreeSizes[parentIndices[limbIndex]] += subtreeSizes[limbIndex];
+            }
+        }
+
+        drawOrder = new int[limbCount];
+        drawPositions = new int[limbCount];
+        int drawPosition = 0;
+        for (int rootLimbIndex : rootLimbIndices) {
+            drawPosition = collectDrawOrder(rootLimbIndex, drawPosition);
+        }
+    }
+
+    /**
+     * Recursively resolve the draw order of a limb and the limbs jointed to it. The limbs rendered beneath it are drawn
+     * first, then the limb, then the limbs rendered above it.
+     *
+     * @param limbIndex Index of the limb
+     * @param drawPosition Position in the draw order the limb's subtree starts at
+     * @return Position in the draw order after the limb's subtree
+     */
+    private int collectDrawOrder(int limbIndex, int drawPosition) {
+        drawPositions[limbIndex] = drawPosition;
+        for (int childIndex : childIndices[limbIndex]) {
+            if (renderBeneath[childIndex]) {
+                drawPosition = collectDrawOrder(childIndex, drawPosition);
+            }
+        }
+        drawOrder[drawPosition++] = limbIndex;
+        for (int childIndex : childIndices[limbIndex]) {
+            if (!renderBeneath[childIndex]) {
+                drawPosition = collectDrawOrder(childIndex, drawPosition);
+            }
+        }
+        return drawPosition;
+    }
+
+    /**
+     * Recursively crawl through a limb and the limbs jointed to it, indexing them depth-first.
+     *
+     * @param limb The limb
+     * @param parentIndex Index of the limb's parent, -1 for a root limb
+     * @param registration Registration of the joint leading to the limb, null for a root limb
+     * @param limbs Limbs by index
+     * @param joints Joints leading to each limb by index
+     * @param registrations Registrations of the joints leading to each limb by index
+     * @param parents Parent of each limb by index
+     */
+    private void collectLimbs(
+        AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> limb,
+        int parentIndex,
+        AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>.JointRegistration registration,
+        List<AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>> limbs,
+        List<AnimationJoint<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>> joints,
+        List<AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>.JointRegistration> registrations,
+        List<Integer> parents
+    ) {
+        if (!limb.isFinalized()) {
+            throw new IllegalStateException("Animation limb must be finalized before rig template is compiled.");
+        }
+
+        final int limbIndex = limbs.size();
+        limbs.add(limb);
+        joints.add(registration == null ? null : registration.joint);
+        registrations.add(registration);
+        parents.add(parentIndex);
+
+        for (AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>.JointRegistration childRegistration : limb.renderInstance.jointRegistrations) {
+            collectLimbs(childRegistration.joint.getLimb(), limbIndex, childRegistration, limbs, joints, registrations, parents);
+        }
+    }
+
+    /**
+     * Create a new pose of this rig and bind the limbs the template was compiled from to it, so that changes made through
+     * the limbs and joints are made to the pose.
+     *
+     * @param rootLimbs The root limbs the template was compiled from
+     * @return The pose
+     */
+    RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> bindLimbs(List<AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>> rootLimbs) {
+        final RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose = createPose();
+        int limbIndex = 0;
+        for (AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> rootLimb : rootLimbs) {
+            limbIndex = bindLimb(rootLimb, pose, limbIndex);
+        }
+        return pose;
+    }
+
+    /**
+     * Recursively bind a limb, and the limbs jointed to it, to a pose.
+     *
+     * @param limb The limb
+     * @param pose The pose
+     * @param limbIndex Index of the limb
+     * @return Index of the next limb after the limb and all the limbs jointed to it
+     */
+    private int bindLimb(AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> limb, RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose, int limbIndex) {
+        limb.bindPose(pose, limbIndex);
+        int nextLimbIndex = limbIndex + 1;
+        for (AnimationLimb<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>.JointRegistration registration : limb.renderInstance.jointRegistrations) {
+            nextLimbIndex = bindLimb(registration.joint.getLimb(), pose, nextLimbIndex);
+        }
+        return nextLimbIndex;
+    }
+
+    /**
+     * Create a new pose of this rig, as it was rigged.
+     *
+     * @return The pose
+     */
+    public RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> createPose() {
+        return new RigPose<>(this, defaultPose);
+    }
+
+    /**
+     * Get the amount of limbs in the rig.
+     *
+     * @return The amount of limbs
+     */
+    public int getLimbCount() {
+        return widths.length;
+    }
+
+    /**
+     * Get the index of the limb a joint leads to.
+     *
+     * @param jointId The ID of the joint
+     * @return The index of the limb, -1 if there is no joint with the ID
+     */
+    public int limbIndexForJointId(short jointId) {
+        final Integer limbIndex = limbIndicesByJointId.get(jointId);
+        return limbIndex == null ? -1 : limbIndex;
+    }
+
+    /**
+     * Get the index of a root limb.
+     *
+     * @param rootPosition Position of the limb in the list of root limbs the rig was built with
+     * @return The index of the limb
+     */
+    public int rootLimbIndex(int rootPosition) {
+        return rootLimbIndices[rootPosition];
+    }
+
+    /**
+     * Get the index of the parent of a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @return Index of the parent, -1 for a root limb
+     */
+    public int getParentIndex(int limbIndex) {
+        return parentIndices[limbIndex];
+    }
+
+    /**
+     * Get the pre-rotate width of a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @return The width
+     */
+    public int getWidth(int limbIndex) {
+        return widths[limbIndex];
+    }
+
+    /**
+     * Get the pre-rotate height of a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @return The height
+     */
+    public int getHeight(int limbIndex) {
+        return heights[limbIndex];
+    }
+
+    /**
+     * Get the ID of the joint leading to a limb.
+     *
+     * @param limbIndex Index of the limb
+     * @return The joint ID, meaningless for a root limb
+     */
+    public short getJointId(int limbIndex) {
+        return jointIds[limbIndex];
+    }
+
+    /**
+     * Work out where every limb of a pose would be rendered, without rendering it. For each limb, by index, the center X,
+     * center Y, rotation, width and height are written into the buffer, {@link #SOLVED_STRIDE} values per limb. Positions
+     * are in the same space as the center point, with Y pointing up, and sizes are scaled by the render ratio.
+     *
+     * @param pose The pose
+     * @param centerX The X of the center point
+     * @param centerY The Y of the center point
+     * @param rotation The rotation
+     * @param renderRatio Scale at which it would be rendered
+     * @param buffer The buffer to write into
+     * @param offset Position in the buffer to start writing at
+     */
+    public void solve(
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        int centerX,
+        int centerY,
+        double rotation,
+        RenderRatio renderRatio,
+        double[] buffer,
+        int offset
+    ) {
+        final int limbCount = getLimbCount();
+        if (offset < 0 || buffer.length - offset < limbCount * SOLVED_STRIDE) {
+            throw new IllegalArgumentException("Buffer does not have room for " + limbCount + " solved limbs.");
+        }
+
+        for (int rootLimbIndex : rootLimbIndices) {
+            placeLimbs(pose, rootLimbIndex, centerX, centerY, rotation, 0, renderRatio);
+        }
+
+        final double widthScale = renderRatio.getWidthScale();
+        final double heightScale = renderRatio.getHeightScale();
+        for (int limbIndex = 0; limbIndex < limbCount; limbIndex++) {
+            final int position = offset + limbIndex * SOLVED_STRIDE;
+            buffer[position + SOLVED_CENTER_X] = pose.centerXs[limbIndex];
+            buffer[position + SOLVED_CENTER_Y] = pose.centerYs[limbIndex];
+            buffer[position + SOLVED_ROTATION] = pose.angles[limbIndex] + pose.pretilts[limbIndex];
+            buffer[position + SOLVED_WIDTH] = (widths[limbIndex] + pose.widthChanges[limbIndex]) * widthScale;
+            buffer[position + SOLVED_HEIGHT] = (heights[limbIndex] + pose.heightChanges[limbIndex]) * heightScale;
+        }
+    }
+
+    /**
+     * Render a pose of the rig from its center point.
+     *
+     * @param graphics The graphics context
+     * @param pose The pose
+     * @param contextObject The object that gives greater context
+     * @param animatedEntity The object being animated
+     * @param centerX The X of the center point
+     * @param centerY The Y of the center point
+     * @param rotation The rotation
+     * @param renderRatio Scale at which is to be rendered
+     */
+    public void render(
+        GraphicsContext graphics,
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        CONTEXT_OBJECT_TYPE contextObject,
+        ANIMATION_OF_TYPE animatedEntity,
+        int centerX,
+        int centerY,
+        double rotation,
+        RenderRatio renderRatio
+    ) {
+        for (int rootLimbIndex : rootLimbIndices) {
+            renderLimb(graphics, pose, rootLimbIndex, contextObject, animatedEntity, centerX, centerY, rotation, 0, renderRatio);
+        }
+    }
+
+    /**
+     * Fetch the image of every limb of a pose from its image provider, without drawing anything. Image providers such as
+     * stop motion controllers advance when asked for an image, so this is part of updating the pose rather than
+     * rendering it.
+     *
+     * @param pose The pose
+     * @param contextObject The object that gives greater context
+     * @param animatedEntity The object being animated
+     */
+    public void updateImages(
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        CONTEXT_OBJECT_TYPE contextObject,
+        ANIMATION_OF_TYPE animatedEntity
+    ) {
+        updateImages(pose, contextObject, animatedEntity, 0);
+    }
+
+    /**
+     * Fetch the image of every limb of a pose from its image provider after skipping images, as when the pose is the last
+     * of several ticks advanced at once. Only limbs drawn in the pose skip images.
+     *
+     * @param pose The pose
+     * @param contextObject The object that gives greater context
+     * @param animatedEntity The object being animated
+     * @param skippedImages Images each image provider skips before the one fetched
+     */
+    public void updateImages(
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        CONTEXT_OBJECT_TYPE contextObject,
+        ANIMATION_OF_TYPE animatedEntity,
+        long skippedImages
+    ) {
+        for (int rootLimbIndex : rootLimbIndices) {
+            updateLimbImages(pose, rootLimbIndex, contextObject, animatedEntity, skippedImages);
+        }
+    }
+
+    /**
+     * Render a pose of the rig from its center point with the images it was last updated with. Nothing about the pose
+     * is advanced, so the same pose can be rendered any amount of times.
+     *
+     * @param graphics The graphics context
+     * @param pose The pose
+     * @param centerX The X of the center point
+     * @param centerY The Y of the center point
+     * @param rotation The rotation
+     * @param renderRatio Scale at which is to be rendered
+     */
+    public void renderPosed(
+        GraphicsContext graphics,
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        int centerX,
+        int centerY,
+        double rotation,
+        RenderRatio renderRatio
+    ) {
+        renderPosed(graphics, pose, centerX, centerY, rotation, renderRatio, 0);
+    }
+
+    /**
+     * Render a pose of the rig from its center point with the images it was last updated with, leaving out limbs too
+     * small to be worth drawing.
+     *
+     * @param graphics The graphics context
+     * @param pose The pose
+     * @param centerX The X of the center point
+     * @param centerY The Y of the center point
+     * @param rotation The rotation
+     * @param renderRatio Scale at which is to be rendered
+     * @param minimumLimbPixels Pixels a limb must be wide or tall once scaled to be drawn
+     */
+    public void renderPosed(
+        GraphicsContext graphics,
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        int centerX,
+        int centerY,
+        double rotation,
+        RenderRatio renderRatio,
+        int minimumLimbPixels
+    ) {
+        for (int rootLimbIndex : rootLimbIndices) {
+            drawLimbs(graphics, pose, rootLimbIndex, centerX, centerY, rotation, 0, renderRatio, minimumLimbPixels);
+        }
+    }
+
+    /**
+     * Render a limb of a pose and the limbs jointed to it. Their images are fetched first, then where every limb is placed
+     * is worked out, then the limbs are drawn in their precalculated draw order.
+     *
+     * @param graphics The graphics
+     * @param pose The pose
+     * @param limbIndex Index of the limb
+     * @param contextObject The object providing context
+     * @param animatedEntity The animated object
+     * @param centerX The X coordinate of the center of the limb
+     * @param centerY The Y coordinate of the center of the limb
+     * @param angle The rotation angle
+     * @param pretilt Rotation angle built up from previous limb's joint rotations
+     * @param renderRatio Scale at which is to be rendered
+     */
+    void renderLimb(
+        GraphicsContext graphics,
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        int limbIndex,
+        CONTEXT_OBJECT_TYPE contextObject,
+        ANIMATION_OF_TYPE animatedEntity,
+        int centerX,
+        int centerY,
+        double angle,
+        double pretilt,
+        RenderRatio renderRatio
+    ) {
+        updateLimbImages(pose, limbIndex, contextObject, animatedEntity, 0);
+        drawLimbs(graphics, pose, limbIndex, centerX, centerY, angle, pretilt, renderRatio, 0);
+    }
+
+    /**
+     * Fetch the images of a limb and the limbs jointed to it, in their draw order. Limbs collapsed to nothing still take
+     * their image, so their image providers stay in step, but are left with no image to draw.
+     *
+     * @param pose The pose
+     * @param limbIndex Index of the limb
+     * @param contextObject The object providing context
+     * @param animatedEntity The animated object
+     * @param skippedImages Images each image provider skips before the one fetched
+     */
+    private void updateLimbImages(
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        int limbIndex,
+        CONTEXT_OBJECT_TYPE contextObject,
+        ANIMATION_OF_TYPE animatedEntity,
+        long skippedImages
+    ) {
+        final int drawEnd = drawPositions[limbIndex] + subtreeSizes[limbIndex];
+        for (int drawPosition = drawPositions[limbIndex]; drawPosition < drawEnd; drawPosition++) {
+            final int drawnLimbIndex = drawOrder[drawPosition];
+            final ILimbImageProvider<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> imageProvider = pose.imageProviders[drawnLimbIndex];
+            if (!imageProvider.canAnimateEntity(animatedEntity)) {
+                throw new IllegalArgumentException("Image provider cannot animate given entity.");
+            }
+
+            imageProvider.provideContext(contextObject, animatedEntity);
+            if (skippedImages > 0) {
+                imageProvider.skipImages(skippedImages);
+            }
+            final Image image = imageProvider.getImage();
+
+            // Collapsed limbs still take their image so stop motion keeps time, but have nothing to draw
+            if (widths[drawnLimbIndex] + pose.widthChanges[drawnLimbIndex] == 0 ||
+                heights[drawnLimbIndex] + pose.heightChanges[drawnLimbIndex] == 0) {
+                pose.images[drawnLimbIndex] = null;
+            } else {
+                pose.images[drawnLimbIndex] = image;
+            }
+        }
+    }
+
+    /**
+     * Draw a limb of a pose and the limbs jointed to it with the images they were last updated with.
+     *
+     * @param graphics The graphics
+     * @param pose The pose
+     * @param limbIndex Index of the limb
+     * @param centerX The X coordinate of the center of the limb
+     * @param centerY The Y coordinate of the center of the limb
+     * @param angle The rotation angle
+     * @param pretilt Rotation angle built up from previous limb's joint rotations
+     * @param renderRatio Scale at which is to be rendered
+     * @param minimumLimbPixels Pixels a limb must be wide or tall once scaled to be drawn
+     */
+    private void drawLimbs(
+        GraphicsContext graphics,
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        int limbIndex,
+        int centerX,
+        int centerY,
+        double angle,
+        double pretilt,
+        RenderRatio renderRatio,
+        int minimumLimbPixels
+    ) {
+        placeLimbs(pose, limbIndex, centerX, centerY, angle, pretilt, renderRatio);
+
+        final int drawEnd = drawPositions[limbIndex] + subtreeSizes[limbIndex];
+        for (int drawPosition = drawPositions[limbIndex]; drawPosition < drawEnd; drawPosition++) {
+            final int drawnLimbIndex = drawOrder[drawPosition];
+            renderPipeline(
+                graphics,
+                pose,
+                drawnLimbIndex,
+                pose.centerXs[drawnLimbIndex],
+                pose.centerYs[drawnLimbIndex],
+                pose.angles[drawnLimbIndex],
+                pose.pretilts[drawnLimbIndex],
+                renderRatio,
+                minimumLimbPixels
+            );
+        }
+    }
+
+    /**
+     * Work out where a limb and the limbs jointed to it are placed, without drawing anything. Placements are kept in the
+     * pose.
+     *
+     * @param pose The pose
+     * @param limbIndex Index of the limb
+     * @param centerX The X coordinate of the center of the limb
+     * @param centerY The Y coordinate of the center of the limb
+     * @param angle The rotation angle
+     * @param pretilt Rotation angle built up from previous limb's joint rotations
+     * @param renderRatio Scale at which is to be rendered
+     */
+    private void placeLimbs(
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        int limbIndex,
+        int centerX,
+        int centerY,
+        double angle,
+        double pretilt,
+        RenderRatio renderRatio
+    ) {
+        final int subtreeEnd = limbIndex + subtreeSizes[limbIndex];
+
+        pose.centerXs[limbIndex] = centerX;
+        pose.centerYs[limbIndex] = centerY;
+        pose.angles[limbIndex] = angle;
+        pose.pretilts[limbIndex] = pretilt;
+
+        // Parents are always indexed before their children, so they are always placed first
+        for (int childIndex = limbIndex + 1; childIndex < subtreeEnd; childIndex++) {
+            final int parentIndex = parentIndices[childIndex];
+
+            /*
+             * If this is the ith joint, next pretilt now represents SUM(thetaL1 + thetaL2 + ... + thetaL(i -1))
+             */
+            final double nextPretilt = pose.pretilts[parentIndex] + pose.angles[parentIndex];
+            final double angleToNextCenter = nextPretilt + anglesFromFulcrum[childIndex];
+
+            //TODO Credense to custom fulcrum
+            // If we can get us to the minimum corner, we can calculate where fulcrum is.
+            // So why don't we, get the coordinate of the corner.
+            // Then we calculate the fulcrum location.
+            // Fulcrum is, in theory, fixed and rotation-agnostic
+            // Using fulcrum location, use angleToNextCenter to calculate where the center of next limb is
+            final double fulcrumDistance = pose.fulcrumDistanceMultipliers[childIndex] * ((double) distancesFromFulcrum[childIndex]);
+            pose.centerXs[childIndex] = pose.centerXs[parentIndex] + (int) renderRatio.scaleHorizontal(fulcrumDistance * Math.cos(angleToNextCenter));
+            pose.centerYs[childIndex] = pose.centerYs[parentIndex] + (int) renderRatio.scaleVertical(fulcrumDistance * Math.sin(angleToNextCenter));
+            pose.angles[childIndex] = pose.rotations[childIndex]; // thetaLi, otherwise covered in pretilt
+            pose.pretilts[childIndex] = nextPretilt;
+        }
+    }
+
+    /**
+     * The actual algorithm for the render of a single limb. The limb's transform is composed arithmetically and the image
+     * is drawn with it, so the graphics are never copied and their state is never changed.
+     *
+     * @param graphics The graphics
+     * @param pose The pose
+     * @param limbIndex Index of the limb
+     * @param centerX The X coordinate of the center of the limb
+     * @param centerY The Y coordinate of the center of the limb
+     * @param angle The rotation angle
+     * @param pretilt Rotation angle built up from previous limb's joint rotations
+     * @param renderRatio Scale at which is to be rendered
+     * @param minimumLimbPixels Pixels the limb must be wide or tall once scaled to be drawn
+     */
+    private void renderPipeline(
+        GraphicsContext graphics,
+        RigPose<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE> pose,
+        int limbIndex,
+        int centerX,
+        int centerY,
+        double angle,
+        double pretilt,
+        RenderRatio renderRatio,
+        int minimumLimbPixels
+    ) {
+        //TODO 1: RENDER RATIO: MAKE THE MAGIC HAPPEN
+        // Calculate some initial values
+        final double limbRotation = angle + pretilt;
+
+        /*
+         * Render ratio needs to take into account how flipped or not flipped this limb is.
+         * To do so, we shall consider the angle and pretilt.
+         */
+        final double widthScale = renderRatio.getWidthScale();
+        final double heightScale = renderRatio.getHeightScale();
+
+        final int adjustedWidth = widths[limbIndex] + pose.widthChanges[limbIndex];
+        final int adjustedHeight = heights[limbIndex] + pose.heightChanges[limbIndex];
+
+        // Nothing to draw, and the transform would not be invertible
+        if (adjustedWidth == 0 || adjustedHeight == 0) {
+            return;
+        }
+
+        // Too small to be worth drawing at this scale
+        if (Math.abs(adjustedWidth * widthScale) < minimumLimbPixels && Math.abs(adjustedHeight * heightScale) < minimumLimbPixels) {
+            return;
+        }
+
+        int drawingX = 0;
+        int drawingY = adjustedHeight;
+        int drawingWidth = adjustedWidth;
+        int drawingHeight = -adjustedHeight;
+
+        // Reflective step
+        if (pose.reflectX[limbIndex]) {
+            drawingX = adjustedWidth;
+            drawingWidth = -adjustedWidth;
+        }
+
+        if (pose.reflectY[limbIndex]) {
+            drawingY = 0;
+            drawingHeight = adjustedHeight;
+        }
+
+        final Image image = pose.images[limbIndex];
+        final ImageObserver observer = graphics.getImageObserver();
+        if (image == null) {
+            return;
+        }
+
+        // Size is unknown until the image has loaded, the observer is told when it is
+        final int imageWidth = image.getWidth(observer);
+        final int imageHeight = image.getHeight(observer);
+        if (imageWidth <= 0 || imageHeight <= 0) {
+            return;
+        }
+
+        // Flip the image
+        final AffineTransform transform = pose.limbTransform;
+        transform.setToScale(1, -1);
+        transform.translate(0, -graphics.getComponentHeight());
+
+        // Start by translation. Put the graphics at the center (well, the corner.)
+        transform.translate(centerX - (adjustedWidth / 2), centerY - (adjustedHeight / 2));
+        /*
+         * Remember, rotation angle is aggregate, SUM(thetaL0 + thetaL1 + ... + thetaLi )
+         * Fulcrum angle should only account for SUM(thetaL0 + thetaL1 + ... + thetaL(i - 1) )
+         * angle = thetaLi
+         * pretilt = SUM(thetaL0 + thetaL1 + ... + thetaL(i - 1) )
+         * Therefore, add them together
+         */
+        transform.scale(widthScale, heightScale);
+        transform.rotate(
+            limbRotation,
+            adjustedWidth / 2,//TODO fulcrum
+            adjustedHeight / 2 //TODO fulcrum
+        );
+
+        // Drawing step. Stretch the image over the drawing rectangle, which is how it would be drawn without a transform.
+        transform.translate(drawingX, drawingY);
+        transform.scale((double) drawingWidth / (double) imageWidth, (double) drawingHeight / (double) imageHeight);
+        graphics.getGraphics2d().drawImage(image, transform, observer);
+    }
+}
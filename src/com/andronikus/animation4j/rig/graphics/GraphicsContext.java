@@ -1,10 +1,12 @@
 package com.andronikus.animation4j.rig.graphics;
 
 import java.awt.Graphics2D;
+import java.awt.image.ImageObserver;
 import javax.swing.JComponent;
 
 /**
- * Information carrier about the graphics.
+ * Information carrier about the graphics. By default, this renders onto a Swing component, which is also the image
+ * observer. See {@link OffscreenGraphicsContext} for rendering without one.
  *
  * @author Andronikus
  */
@@ -22,6 +24,15 @@ public class GraphicsContext {
         this.graphics2d = graphics2d;
     }
 
+    /**
+     * Get the graphics being used. Rigs draw onto these directly, without changing their state.
+     *
+     * @return The graphics
+     */
+    public Graphics2D getGraphics2d() {
+        return graphics2d;
+    }
+
     /**
      * Get the image observer.
      *
@@ -40,6 +51,15 @@ public class GraphicsContext {
         this.observer = observer;
     }
 
+    /**
+     * Get the observer to notify about images as they are drawn.
+     *
+     * @return The image observer, may be null
+     */
+    public ImageObserver getImageObserver() {
+        return observer;
+    }
+
     /**
      * Get the height of the component this is being rendered on.
      *
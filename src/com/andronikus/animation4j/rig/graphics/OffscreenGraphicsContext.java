@@ -0,0 +1,72 @@
+package com.andronikus.animation4j.rig.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+
+/**
+ * Graphics context that renders into an image rather than onto a Swing component. Needs neither a display nor the AWT
+ * event thread, so it can be used on headless servers and from worker threads. A context should only be used by one
+ * thread at a time.
+ *
+ * @author Andronikus
+ */
+public class OffscreenGraphicsContext extends GraphicsContext {
+
+    private final BufferedImage image;
+    private final Graphics2D imageGraphics;
+
+    /**
+     * Instantiate a context rendering into a new image.
+     *
+     * @param width The width of the image
+     * @param height The height of the image
+     */
+    public OffscreenGraphicsContext(int width, int height) {
+        this(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    /**
+     * Instantiate a context rendering into an image.
+     *
+     * @param image The image
+     */
+    public OffscreenGraphicsContext(BufferedImage image) {
+        this.image = image;
+        imageGraphics = image.createGraphics();
+        setGraphics2d(imageGraphics);
+    }
+
+    /**
+     * Get the image being rendered into.
+     *
+     * @return The image
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImageObserver getImageObserver() {
+        // Images rendered by the library are fully loaded, so nothing needs to observe them
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getComponentHeight() {
+        return image.getHeight();
+    }
+
+    /**
+     * Release the graphics of the image. The context cannot be rendered with afterwards.
+     */
+    public void dispose() {
+        imageGraphics.dispose();
+    }
+}
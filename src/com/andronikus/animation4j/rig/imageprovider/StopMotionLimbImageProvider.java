@@ -8,6 +8,10 @@ import java.awt.Image;
 /**
  * Animation limb image provider that uses a stop-motion controller to supply images.
  *
+ * The context given to the provider is kept until the next image is asked for, and asking for an image advances the
+ * controller. A provider is therefore confined to the thread updating the rig it is on, and must not be shared by rigs
+ * that are updated in parallel.
+ *
  * @param <CONTEXT_OBJECT_TYPE> Type of object providing greater context
  * @param <ANIMATION_OF_TYPE> Type of object being animated
  * @author Andronikus
@@ -46,4 +50,12 @@ public class StopMotionLimbImageProvider<CONTEXT_OBJECT_TYPE, ANIMATION_OF_TYPE>
     public Image getImage() {
         return stopMotionController.nextSprite(nextContextProvider, nextAnimatedEntity);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void skipImages(long count) {
+        stopMotionController.advance(nextContextProvider, nextAnimatedEntity, count);
+    }
 }
@@ -3,6 +3,11 @@ package com.andronikus.animation4j.spritesheet;
 import com.andronikus.animation4j.util.ImagesUtil;
 
 import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Sprite sheet that uses a big image and divides them into a set of smaller images called sprites.
@@ -11,10 +16,23 @@ import java.awt.image.BufferedImage;
  */
 public class SpriteSheet {
 
+    /*
+     * Tiles sliced out of each sheet image, by the tile width and height they were sliced at. Every sprite sheet slicing
+     * the same image the same way shares one set of tiles, so that a crowd of controllers, each with its own sprite
+     * sheet, does not hold a copy of every tile per controller.
+     */
+    private static final Map<BufferedImage, Map<Long, AtomicReferenceArray<BufferedImage>>> SHARED_TILES =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
     private final BufferedImage spriteSheet;
     private final int tileWidth;
     private final int tileHeight;
 
+    // Tiles sliced out of the sheet so far, by row then column. Slicing the same tile twice is harmless, so no locking.
+    private final int columns;
+    private final int rows;
+    private final AtomicReferenceArray<BufferedImage> tiles;
+
     /**
      * Instantiate a sprite sheet.
      *
@@ -54,13 +72,43 @@ public class SpriteSheet {
      * @param tileHeight The size of the tile
      */
     public SpriteSheet(BufferedImage spriteSheet, int tileWidth, int tileHeight) {
+        if (tileWidth <= 0 || tileHeight <= 0) {
+            throw new IllegalArgumentException("Tile width and height must be greater than zero.");
+        }
         this.spriteSheet = spriteSheet;
         this.tileWidth = tileWidth;
         this.tileHeight = tileHeight;
+        columns = spriteSheet.getWidth() / tileWidth;
+        rows = spriteSheet.getHeight() / tileHeight;
+        tiles = sharedTiles(spriteSheet, tileWidth, tileHeight, columns * rows);
     }
 
     /**
-     * Get the tile.
+     * Get the tiles shared by sprite sheets slicing an image into tiles of a size.
+     *
+     * @param spriteSheet The sprite sheet image
+     * @param tileWidth The width of the tiles
+     * @param tileHeight The height of the tiles
+     * @param tileCount The amount of tiles
+     * @return The tiles
+     */
+    private static AtomicReferenceArray<BufferedImage> sharedTiles(
+        BufferedImage spriteSheet,
+        int tileWidth,
+        int tileHeight,
+        int tileCount
+    ) {
+        final long tileSize = ((long) tileWidth << 32) | tileHeight;
+        synchronized (SHARED_TILES) {
+            return SHARED_TILES
+                .computeIfAbsent(spriteSheet, image -> new HashMap<>())
+                .computeIfAbsent(tileSize, size -> new AtomicReferenceArray<>(tileCount));
+        }
+    }
+
+    /**
+     * Get the tile. Each tile is copied out of the sheet once and the copy is returned from then on, by this and every
+     * other sprite sheet of the same image and tile size.
      *
      * @param x The X location
      * @param y The Y location
@@ -70,6 +118,28 @@ public class SpriteSheet {
         if (x < 0 || y < 0) {
             throw new IllegalArgumentException("Tile X and Y must be zero or higher.");
         }
-        return spriteSheet.getSubimage(x * tileWidth, y * tileHeight, tileWidth, tileHeight);
+        // Not a whole tile of the sheet, let the sub-image say what is wrong with it
+        if (x >= columns || y >= rows) {
+            return spriteSheet.getSubimage(x * tileWidth, y * tileHeight, tileWidth, tileHeight);
+        }
+
+        final int tileIndex = y * columns + x;
+        BufferedImage tile = tiles.get(tileIndex);
+        if (tile == null) {
+            tile = ImagesUtil.toCompatibleImage(spriteSheet.getSubimage(x * tileWidth, y * tileHeight, tileWidth, tileHeight));
+            tiles.set(tileIndex, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Slice every tile out of the sheet now, rather than when each is first asked for.
+     */
+    public void preloadTiles() {
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                getTile(x, y);
+            }
+        }
     }
 }
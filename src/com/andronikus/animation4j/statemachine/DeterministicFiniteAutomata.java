@@ -1,8 +1,14 @@
 package com.andronikus.animation4j.statemachine;
 
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToLongBiFunction;
+
 /**
  * Deterministic finite automata used to transition between states and apply the state appropriately.
  *
+ * States hold nothing specific to the automata applying them. Which state is active, and for how long it has been
+ * applied, is kept by the automata, so that a state graph can be shared. See {@link #sharesStateGraph()}.
+ *
  * @param <TRANSITION_CONTEXT> Type of object that provides context to transitions
  * @param <TRANSITION_ROOT> Type of object that will actually be acted on and provides instance-specific transition logic
  * @param <STATE_TYPE> The sub-type of the state in the DFA
@@ -16,10 +22,29 @@ public abstract class DeterministicFiniteAutomata<
     STATE_RESULT
 > {
 
-    private STATE_TYPE initialState;
+    // Initial state of each state graph shared by every automata of a class. Kept with the class itself rather than in a
+    // map of this one, so that the graph does not keep the class, or the class loader that loaded it, from being unloaded.
+    private static final ClassValue<AtomicReference<State<?, ?, ?>>> SHARED_STATE_GRAPHS =
+        new ClassValue<AtomicReference<State<?, ?, ?>>>() {
+            @Override
+            protected AtomicReference<State<?, ?, ?>> computeValue(Class<?> automataClass) {
+                return new AtomicReference<>();
+            }
+        };
+
+    private final STATE_TYPE initialState;
     private STATE_TYPE activeState;
     private STATE_TYPE realState;
 
+    // Ticks the active state has been applied for, and whether the transition taken off of it interrupts it
+    private long activeStateTicks = 0;
+    private boolean activeStateInterrupted = false;
+
+    // Optional change signal. Transitions are only checked when its version changes, or when they could otherwise fire.
+    private ToLongBiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT> changeSignal = null;
+    private long lastCheckedVersion = 0;
+    private STATE_TYPE lastCheckedState = null;
+
     /**
      * Instantiate a deterministic finite automata.
      *
@@ -27,10 +52,74 @@ public abstract class DeterministicFiniteAutomata<
      */
     public DeterministicFiniteAutomata(Object... instantiationParameters) {
         handleInstantiationParameters(instantiationParameters);
-        initialState = buildInitialStatesAndTransitions();
+        if (sharesStateGraph()) {
+            initialState = sharedStateGraph();
+        } else {
+            initialState = buildFrozenStateGraph();
+        }
         this.activeState = initialState;
         this.realState = initialState;
-        initialState.prepareToBeActive();
+    }
+
+    /**
+     * Get the state graph shared by every automata of this class, building it if no automata of the class has yet. The
+     * graph is built without holding anything, so building it does not hold up automata of other classes and may
+     * instantiate automata of its own. If automata of the class build it at once, every one of them uses the graph stored
+     * first.
+     *
+     * @return The initial state of the shared graph
+     */
+    @SuppressWarnings("unchecked") // Graphs are only stored under the class of the automata that built them
+    private STATE_TYPE sharedStateGraph() {
+        final AtomicReference<State<?, ?, ?>> sharedGraph = SHARED_STATE_GRAPHS.get(getClass());
+        final State<?, ?, ?> sharedState = sharedGraph.get();
+        if (sharedState != null) {
+            return (STATE_TYPE) sharedState;
+        }
+
+        final STATE_TYPE builtState = buildFrozenStateGraph();
+        if (sharedGraph.compareAndSet(null, builtState)) {
+            return builtState;
+        }
+        return (STATE_TYPE) sharedGraph.get();
+    }
+
+    /**
+     * Drop the state graph shared by every automata of a class, so that it can be let go of once no automata use it. The
+     * next automata of the class to be instantiated builds the graph again. Automata instantiated before keep using the
+     * graph they were instantiated with.
+     *
+     * @param automataClass The class of automata sharing the graph
+     */
+    public static void dropSharedStateGraph(Class<? extends DeterministicFiniteAutomata<?, ?, ?, ?>> automataClass) {
+        SHARED_STATE_GRAPHS.remove(automataClass);
+    }
+
+    /**
+     * Build the states and freeze their transitions.
+     *
+     * @return The initial state
+     */
+    private STATE_TYPE buildFrozenStateGraph() {
+        final STATE_TYPE builtState = buildInitialStatesAndTransitions();
+        builtState.freezeTransitions();
+        return builtState;
+    }
+
+    /**
+     * Should every automata of this class share one state graph? If so, the states are built once, by the first automata
+     * of the class, and every later automata only holds which state it is on. This makes each automata a few dozen
+     * bytes rather than a graph of states, transitions and conditions.
+     *
+     * Only appropriate when the built states depend on nothing specific to the automata building them. Transition
+     * conditions must only use the context and root object given to them, and states must not be changed once built.
+     * Built states are only read, so automata sharing them can be applied on different threads. The graph is kept until
+     * the class is unloaded or the graph is dropped with {@link #dropSharedStateGraph(Class)}.
+     *
+     * @return True to share the state graph, false by default
+     */
+    protected boolean sharesStateGraph() {
+        return false;
     }
 
     /**
@@ -43,24 +132,205 @@ public abstract class DeterministicFiniteAutomata<
     /**
      * Perform the next action on a state. Method responsible for choosing and applying state.
      *
+     * Packs its parameters into an array, and boxes any primitives, on every call. Subclasses applying states every
+     * frame should offer typed methods that apply {@link #nextState(Object, Object)} directly.
+     *
      * @param contextObject The context object
      * @param root The object that is being applied to whichever state comes up
      * @param parameters Parameters for the action
      * @return The result of the state's action
      */
     protected STATE_RESULT nextAction(TRANSITION_CONTEXT contextObject, TRANSITION_ROOT root, Object... parameters) {
-        final STATE_TYPE nextState = realState.checkTransition(contextObject, root);
+        return doWithNextState(nextState(contextObject, root), contextObject, root, parameters);
+    }
+
+    /**
+     * Choose the state the next action is to be performed on, without performing it. Subclasses that can apply the state
+     * directly use this instead of {@link #nextAction(Object, Object, Object...)} to avoid packing parameters.
+     *
+     * @param contextObject The context object
+     * @param root The object that is being applied to whichever state comes up
+     * @return The state to apply
+     */
+    protected STATE_TYPE nextState(TRANSITION_CONTEXT contextObject, TRANSITION_ROOT root) {
+        takeTransitions(contextObject, root);
+        return activeState;
+    }
+
+    /**
+     * Choose states for some ticks without applying them, as if {@link #nextState(Object, Object)} had been called and
+     * the active state ticked that many times. Rather than checking transitions on every tick, ticks are skipped in spans
+     * over which checking them could not change anything, so skipping any amount of ticks takes a few checks, unless
+     * transitions keep being taken.
+     *
+     * Presumes the transition conditions depend on nothing but the context and root object, which do not change while
+     * skipping, and on cycles of the active state being finished.
+     *
+     * @param contextObject The context object
+     * @param root The object that is being applied to whichever state comes up
+     * @param ticks The ticks to skip
+     */
+    protected void skipTicks(TRANSITION_CONTEXT contextObject, TRANSITION_ROOT root, long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot skip a negative amount of ticks.");
+        }
+
+        long ticksLeft = ticks;
+        while (ticksLeft > 0) {
+            long span = ticksLeft;
+            if (takeTransitions(contextObject, root)) {
+                // The state transitioned to may have transitions of its own to take on the next tick
+                span = 1;
+            } else if (activeState != realState || realState.hasCycleCompletionTransition()) {
+                // Only finishing a cycle of the active state can change anything until then
+                final long ticksUntilCycleFinished = activeState.ticksUntilCycleFinished(activeStateTicks);
+                if (ticksUntilCycleFinished > 0) {
+                    span = Math.min(span, ticksUntilCycleFinished);
+                }
+            }
+
+            activeStateTicks += span;
+            ticksLeft -= span;
+        }
+    }
+
+    /**
+     * Take the transition off of the real state whose condition is met, if any, and switch the active state to the real
+     * state once it can be left.
+     *
+     * @param contextObject The context object
+     * @param root The object that is being applied to whichever state comes up
+     * @return True if a transition was taken or the active state switched
+     */
+    private boolean takeTransitions(TRANSITION_CONTEXT contextObject, TRANSITION_ROOT root) {
+        final int transitionIndex = checkTransitions(contextObject, root);
+
+        if (transitionIndex >= 0) {
+            final STATE_TYPE nextState = realState.getTransitionState(transitionIndex);
+            if (realState == activeState && realState.transitionInterruptsState(transitionIndex)) {
+                activeStateInterrupted = true;
+            }
 
-        if (nextState != null) {
+            // The state transitioned to has not had its transitions checked yet
+            lastCheckedState = null;
             realState = nextState;
-            nextState.prepareToBeActive();
+
+            // Transitioning back onto the active state starts it over
+            if (nextState == activeState) {
+                handleActiveStateLeft(activeState, activeStateTicks);
+                startActiveState();
+            }
         }
 
-        if (activeState != realState && activeState.isTransitionFromOkay()) {
+        if (activeState != realState && activeState.isTransitionFromOkay(activeStateTicks, activeStateInterrupted)) {
+            handleActiveStateLeft(activeState, activeStateTicks);
             activeState = realState;
+            startActiveState();
+            return true;
+        }
+
+        return transitionIndex >= 0;
+    }
+
+    /**
+     * Handle the active state being left, or started over, after being applied for some ticks. Called before the next
+     * state becomes active, whether choosing the state for an action or skipping ticks, so subclasses can catch up on
+     * whatever the skipped ticks of the state left behind. Does nothing by default.
+     *
+     * @param state The state being left
+     * @param ticksOnState Ticks the state was applied for
+     */
+    protected void handleActiveStateLeft(STATE_TYPE state, long ticksOnState) {}
+
+    /**
+     * Start applying the active state from its beginning.
+     */
+    private void startActiveState() {
+        activeStateTicks = 0;
+        activeStateInterrupted = false;
+    }
+
+    /**
+     * Check the transitions off of the real state, unless there is a change signal saying nothing has changed since they
+     * were last checked.
+     *
+     * @param contextObject The context object
+     * @param root The object that is being applied to whichever state comes up
+     * @return Index of the transition to take off of the real state, -1 if no transition
+     */
+    private int checkTransitions(TRANSITION_CONTEXT contextObject, TRANSITION_ROOT root) {
+        if (changeSignal == null) {
+            return realState.checkTransition(contextObject, root, activeState, activeStateTicks);
+        }
+
+        final long version = changeSignal.applyAsLong(contextObject, root);
+        if (version == lastCheckedVersion && realState == lastCheckedState && !realState.hasCycleCompletionTransition()) {
+            return -1;
+        }
+
+        lastCheckedVersion = version;
+        lastCheckedState = realState;
+        return realState.checkTransition(contextObject, root, activeState, activeStateTicks);
+    }
+
+    /**
+     * Only check transitions when signalled that something they depend on has changed. The signal is a version that must
+     * change whenever anything the transition conditions depend on changes, such as a counter the animated object bumps
+     * every time one of its flags is set. Transitions are still checked when a state is first transitioned to, and on every
+     * action while on a state with a transition waiting on a cycle being completed.
+     *
+     * Only suitable when every transition condition depends on nothing but what the version covers and completed cycles.
+     *
+     * @param changeSignal Function giving the version of the context and the root object, null to check on every action
+     */
+    public void setChangeSignal(ToLongBiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT> changeSignal) {
+        this.changeSignal = changeSignal;
+        lastCheckedState = null;
+    }
+
+    /**
+     * Signal that something the transition conditions depend on has changed, so that they are checked on the next action.
+     * An alternative to, or a supplement for, a change signal.
+     */
+    public void signalChange() {
+        lastCheckedState = null;
+    }
+
+    /**
+     * Get the state that is currently being applied.
+     *
+     * @return The active state
+     */
+    protected STATE_TYPE getActiveState() {
+        return activeState;
+    }
+
+    /**
+     * Get the ticks the active state has been applied for.
+     *
+     * @return The ticks
+     */
+    protected long getActiveStateTicks() {
+        return activeStateTicks;
+    }
+
+    /**
+     * Set the ticks the active state has been applied for, such as when jumping to a point in it.
+     *
+     * @param ticks The ticks
+     */
+    protected void setActiveStateTicks(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Ticks on a state cannot be negative.");
         }
+        activeStateTicks = ticks;
+    }
 
-        return doWithNextState(activeState, contextObject, root, parameters);
+    /**
+     * Count a tick of the active state having been applied. Called by subclasses once they apply the active state.
+     */
+    protected void tickActiveState() {
+        activeStateTicks++;
     }
 
     /**
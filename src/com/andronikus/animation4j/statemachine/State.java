@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 
 /**
  * State in a state machine.
@@ -21,24 +22,30 @@ public abstract class State<
     // Whether this state can be interrupted by the transition to another state or if its animation must play out
     private boolean interruptible = true;
 
-    /*
-     * Ignored if interruptible is "true", but in cases where this animation cannot be interrupted, this is a hook
-     * for transitions off of this state that are interruptible.
-     */
-    private Boolean transitionInterruptible = null;
-
     private List<Transition> transitions = new ArrayList<>();
 
+    // Transitions frozen into arrays for checking, rebuilt from the list when a transition has been added since
+    private BiPredicate<TRANSITION_CONTEXT, TRANSITION_ROOT>[] transitionConditions = null;
+    private CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT>[] transitionCycleCompletions = null;
+    private STATE_TYPE[] transitionStates = null;
+    private boolean[] transitionsOverrideInterruptibleFlag = null;
+    private boolean cycleCompletionTransition = false;
+
     /**
-     * Check if a transition is to happen to a subsequent state.
+     * Check if a transition is to happen to a subsequent state. States hold nothing specific to the automata applying
+     * them, so how long the active state has been applied for is given by the automata.
      *
      * @param contextProvider Object providing greater context
      * @param rootEntity Object that is used to be deciding transition factor
-     * @return The state, null if no transition
+     * @param activeState The state the automata is applying
+     * @param activeStateTicks Ticks the active state has been applied for
+     * @return Index of the transition to take, -1 if no transition
      */
-    STATE_TYPE checkTransition(
+    int checkTransition(
         TRANSITION_CONTEXT contextProvider,
-        TRANSITION_ROOT rootEntity
+        TRANSITION_ROOT rootEntity,
+        STATE_TYPE activeState,
+        long activeStateTicks
     ) {
         // TODO bug discovered. If the criteria is met for two transitions, then we got a problem
         // TODO, actually, this is a rather complex bug.
@@ -65,19 +72,100 @@ public abstract class State<
          * Solution could be to only check transitions off of the "active" state. Maybe here return an array of acceptable
          * transitions.
          */
-        final Transition transitionToNextState = transitions.stream()
-            .filter(transition -> transition.transitionFunction.apply(contextProvider, rootEntity))
-            .findFirst().orElse(null);
+        if (transitionConditions == null) {
+            freezeTransitions();
+        }
+
+        for (int transitionIndex = 0; transitionIndex < transitionConditions.length; transitionIndex++) {
+            final CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> cycleCompletion =
+                transitionCycleCompletions[transitionIndex];
+            final boolean conditionMet = cycleCompletion != null
+                ? cycleCompletion.isMet(activeState, activeStateTicks, contextProvider, rootEntity)
+                : transitionConditions[transitionIndex].test(contextProvider, rootEntity);
+            if (conditionMet) {
+                return transitionIndex;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Get the state a transition leads to.
+     *
+     * @param transitionIndex Index of the transition, as given by a transition check
+     * @return The state
+     */
+    STATE_TYPE getTransitionState(int transitionIndex) {
+        return transitionStates[transitionIndex];
+    }
+
+    /**
+     * Does taking a transition allow this state to be left before it finishes a cycle?
+     *
+     * @param transitionIndex Index of the transition, as given by a transition check
+     * @return True if the transition interrupts this state
+     */
+    boolean transitionInterruptsState(int transitionIndex) {
+        return !interruptible && transitionsOverrideInterruptibleFlag[transitionIndex];
+    }
+
+    /**
+     * Freeze the transitions of this state, and every state reachable from it, into arrays for checking. Transitions
+     * can still be added later, the state will freeze them again the next time they are checked.
+     */
+    void freezeTransitions() {
+        if (transitionConditions != null) {
+            return;
+        }
 
-        if (transitionToNextState == null) {
-            return null;
+        final int transitionCount = transitions.size();
+        // Generic arrays cannot be created, so raw arrays are filled with nothing but the conditions and states added
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        final BiPredicate<TRANSITION_CONTEXT, TRANSITION_ROOT>[] conditions = new BiPredicate[transitionCount];
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        final CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT>[] cycleCompletions =
+            new CycleCompletionCondition[transitionCount];
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        final STATE_TYPE[] states = (STATE_TYPE[]) new State[transitionCount];
+        final boolean[] overridesInterruptibleFlag = new boolean[transitionCount];
+        cycleCompletionTransition = false;
+        for (int transitionIndex = 0; transitionIndex < transitionCount; transitionIndex++) {
+            final Transition transition = transitions.get(transitionIndex);
+            conditions[transitionIndex] = transition.transitionFunction;
+            cycleCompletions[transitionIndex] = transition.cycleCompletion;
+            states[transitionIndex] = transition.toState;
+            overridesInterruptibleFlag[transitionIndex] = transition.overridesInterruptibleFlag;
+            cycleCompletionTransition |= transition.cycleCompletion != null;
         }
+        transitionStates = states;
+        transitionsOverrideInterruptibleFlag = overridesInterruptibleFlag;
+        transitionCycleCompletions = cycleCompletions;
+        transitionConditions = conditions;
+        compile();
 
-        if (!interruptible && transitionToNextState.overridesInterruptibleFlag) {
-            transitionInterruptible = true;
+        for (STATE_TYPE state : states) {
+            state.freezeTransitions();
         }
+    }
+
+    /**
+     * Compile anything the state needs to be applied, once it is done being built. Called when its transitions are
+     * frozen, which happens before the state is first applied.
+     */
+    protected void compile() {}
 
-        return transitionToNextState.toState;
+    /**
+     * Does the state have a transition that waits on a cycle being completed? Such a transition can become possible without
+     * anything changing but time, so it has to be checked on every action.
+     *
+     * @return True if it has such a transition
+     */
+    boolean hasCycleCompletionTransition() {
+        if (transitionConditions == null) {
+            freezeTransitions();
+        }
+        return cycleCompletionTransition;
     }
 
     /**
@@ -86,6 +174,7 @@ public abstract class State<
      * @param interruptable Interruptible flag
      * @return Self
      */
+    @SuppressWarnings("unchecked") // STATE_TYPE is the type of the state itself
     public STATE_TYPE withInterruptibleFlag(boolean interruptable) {
         this.interruptible = interruptable;
         return (STATE_TYPE) this;
@@ -97,10 +186,23 @@ public abstract class State<
      * @param transitionCheck Condition for when to transition to the state
      * @return The newly created state
      */
-    public STATE_TYPE createTransitionState(BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> transitionCheck) {
+    public STATE_TYPE createTransitionState(TransitionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> transitionCheck) {
         return createTransitionState(transitionCheck, false);
     }
 
+    /**
+     * Create a state with a function call that is used to transition to it.
+     *
+     * @param transitionCheck Condition for when to transition to the state
+     * @return The newly created state
+     * @deprecated Conditions held in a {@link BiFunction} box their result on every check. Use a
+     * {@link TransitionCondition}, which any lambda or method reference passed here already is.
+     */
+    @Deprecated
+    public STATE_TYPE createTransitionState(BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> transitionCheck) {
+        return createTransitionState(transitionCheck::apply);
+    }
+
     /**
      * Create a state with a function call that is used to transition to it.
      *
@@ -109,19 +211,62 @@ public abstract class State<
      * @return The newly created state
      */
     public STATE_TYPE createTransitionState(
-        BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> transitionCheck,
+        TransitionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> transitionCheck,
         boolean interruptible
     ) {
         return createTransition(transitionCheck, interruptible, createBlankState());
     }
 
+    /**
+     * Create a state with a function call that is used to transition to it.
+     *
+     * @param transitionCheck Condition for when to transition to the state
+     * @param interruptible If this transition interrupts the animation. Only used if the state is not interruptible
+     * @return The newly created state
+     * @deprecated Conditions held in a {@link BiFunction} box their result on every check. Use a
+     * {@link TransitionCondition}, which any lambda or method reference passed here already is.
+     */
+    @Deprecated
+    public STATE_TYPE createTransitionState(
+        BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> transitionCheck,
+        boolean interruptible
+    ) {
+        return createTransitionState(transitionCheck::apply, interruptible);
+    }
+
+    /**
+     * Create a state that is transitioned to once a state has finished a cycle.
+     *
+     * @param cycleCompletion Condition for when to transition to the state, from {@link #completeCycleTransition()}
+     * @return The newly created state
+     */
+    public STATE_TYPE createTransitionState(CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> cycleCompletion) {
+        return createTransitionState(cycleCompletion, false);
+    }
+
+    /**
+     * Create a state that is transitioned to once a state has finished a cycle.
+     *
+     * @param cycleCompletion Condition for when to transition to the state, from {@link #completeCycleTransition()}
+     * @param interruptible If this transition interrupts the animation. Only used if the state is not interruptible
+     * @return The newly created state
+     */
+    public STATE_TYPE createTransitionState(
+        CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> cycleCompletion,
+        boolean interruptible
+    ) {
+        return createTransition(cycleCompletion, interruptible, createBlankState());
+    }
+
     /**
      * Can the stop motion animation leave this state and move to the one it should be transitioned to?
      *
+     * @param ticksOnState Ticks this state has been applied for
+     * @param transitionInterruptible Whether the transition taken off of this state interrupts it
      * @return True if transition can happen
      */
-    public boolean isTransitionFromOkay() {
-        return interruptible || (transitionInterruptible != null && transitionInterruptible) || atleastOneCycleFinished();
+    public boolean isTransitionFromOkay(long ticksOnState, boolean transitionInterruptible) {
+        return interruptible || transitionInterruptible || atleastOneCycleFinished(ticksOnState);
     }
 
     /**
@@ -132,7 +277,7 @@ public abstract class State<
      * @return The state that a transition was added for
      */
     public STATE_TYPE createTransition(
-        BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> transitionCheck,
+        TransitionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> transitionCheck,
         STATE_TYPE state
     ) {
         return createTransition(transitionCheck, false, state);
@@ -142,51 +287,130 @@ public abstract class State<
      * Create a transition between this state and another state.
      *
      * @param transitionCheck Condition for when to transition to the state
-     * @param interruptible If this transition interrupts the animation. Only used if the state is not interruptible
      * @param state The state to transition to when condition is met
      * @return The state that a transition was added for
+     * @deprecated Conditions held in a {@link BiFunction} box their result on every check. Use a
+     * {@link TransitionCondition}, which any lambda or method reference passed here already is.
      */
+    @Deprecated
     public STATE_TYPE createTransition(
         BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> transitionCheck,
+        STATE_TYPE state
+    ) {
+        return createTransition(transitionCheck::apply, state);
+    }
+
+    /**
+     * Create a transition between this state and another state.
+     *
+     * @param transitionCheck Condition for when to transition to the state
+     * @param interruptible If this transition interrupts the animation. Only used if the state is not interruptible
+     * @param state The state to transition to when condition is met
+     * @return The state that a transition was added for
+     */
+    public STATE_TYPE createTransition(
+        TransitionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> transitionCheck,
         boolean interruptible,
         STATE_TYPE state
     ) {
-        Objects.requireNonNull(state, "Transition to state must be null.");
-        final Transition transition = new Transition();
-        transition.toState = state;
-        transition.transitionFunction = transitionCheck;
-        transition.overridesInterruptibleFlag = interruptible;
-        this.transitions.add(transition);
-        return state;
+        return addTransition(transitionCheck, null, interruptible, state);
     }
 
     /**
-     * Transition to this state. This should reset instance specific variables that need to be reset when the state is reused.
+     * Create a transition between this state and another state.
      *
-     * WARNING: A call to this method does not necessarily imply the state will be transitioned to nor is it idempotent.
+     * @param transitionCheck Condition for when to transition to the state
+     * @param interruptible If this transition interrupts the animation. Only used if the state is not interruptible
+     * @param state The state to transition to when condition is met
+     * @return The state that a transition was added for
+     * @deprecated Conditions held in a {@link BiFunction} box their result on every check. Use a
+     * {@link TransitionCondition}, which any lambda or method reference passed here already is.
+     */
+    @Deprecated
+    public STATE_TYPE createTransition(
+        BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> transitionCheck,
+        boolean interruptible,
+        STATE_TYPE state
+    ) {
+        return createTransition(transitionCheck::apply, interruptible, state);
+    }
+
+    /**
+     * Create a transition between this state and another state, taken once a state has finished a cycle.
      *
-     * Package private actions to take.
+     * @param cycleCompletion Condition for when to transition to the state, from {@link #completeCycleTransition()}
+     * @param state The state to transition to when condition is met
+     * @return The state that a transition was added for
      */
-    void prepareToBeActive() {
-        // Reset the flag for if the transition off of this state is interruptable
-        transitionInterruptible = null;
+    public STATE_TYPE createTransition(
+        CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> cycleCompletion,
+        STATE_TYPE state
+    ) {
+        return createTransition(cycleCompletion, false, state);
+    }
 
-        transitionTo();
+    /**
+     * Create a transition between this state and another state, taken once a state has finished a cycle.
+     *
+     * @param cycleCompletion Condition for when to transition to the state, from {@link #completeCycleTransition()}
+     * @param interruptible If this transition interrupts the animation. Only used if the state is not interruptible
+     * @param state The state to transition to when condition is met
+     * @return The state that a transition was added for
+     */
+    public STATE_TYPE createTransition(
+        CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> cycleCompletion,
+        boolean interruptible,
+        STATE_TYPE state
+    ) {
+        Objects.requireNonNull(cycleCompletion, "Cycle completion condition must not be null.");
+        return addTransition(null, cycleCompletion, interruptible, state);
     }
 
     /**
-     * Transition to this state. This should reset instance specific variables that need to be reset when the state is reused.
+     * Add a transition between this state and another state, with either a condition or a cycle completion condition.
      *
-     * WARNING: A call to this method does not necessarily imply the state will be transitioned to nor is it idempotent.
+     * @param transitionCheck Condition for when to transition to the state, null if waiting on a cycle being completed
+     * @param cycleCompletion Cycle completion condition for when to transition to the state, null if there is a condition
+     * @param interruptible If this transition interrupts the animation. Only used if the state is not interruptible
+     * @param state The state to transition to when condition is met
+     * @return The state that a transition was added for
      */
-    public abstract void transitionTo();
+    private STATE_TYPE addTransition(
+        BiPredicate<TRANSITION_CONTEXT, TRANSITION_ROOT> transitionCheck,
+        CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> cycleCompletion,
+        boolean interruptible,
+        STATE_TYPE state
+    ) {
+        Objects.requireNonNull(state, "Transition to state must be null.");
+        final Transition transition = new Transition();
+        transition.toState = state;
+        transition.transitionFunction = transitionCheck;
+        transition.cycleCompletion = cycleCompletion;
+        transition.overridesInterruptibleFlag = interruptible;
+        this.transitions.add(transition);
+        transitionConditions = null;
+        return state;
+    }
 
     /**
      * Has the state finished at least one cycle of actions?
      *
+     * @param ticksOnState Ticks this state has been applied for
      * @return True, if it has finished at least one cycle of actions
      */
-    protected abstract boolean atleastOneCycleFinished();
+    protected abstract boolean atleastOneCycleFinished(long ticksOnState);
+
+    /**
+     * How many more ticks must the state be applied for until it has finished at least one cycle of actions? Lets the
+     * automata skip ticks without checking for a finished cycle on each of them. By default, only whether the cycle is
+     * finished is known, so ticks are skipped one at a time. Subclasses that know how long a cycle is should override it.
+     *
+     * @param ticksOnState Ticks this state has been applied for
+     * @return Ticks until a cycle is finished, 0 if at least one is
+     */
+    protected long ticksUntilCycleFinished(long ticksOnState) {
+        return atleastOneCycleFinished(ticksOnState) ? 0 : 1;
+    }
 
     /**
      * New state to be created that will be transitioned to once the current state has been cycled
@@ -200,12 +424,14 @@ public abstract class State<
 
     /**
      * A transition condition that can be used to only transition upon completion of a full cycle
-     * of this state.
+     * of this state. Since the ticks on a state are kept by the automata applying it, the condition is checked by the
+     * automata. It is not a {@link BiPredicate}, but can be combined with one using
+     * {@link CycleCompletionCondition#and(BiPredicate)}.
      *
      * @return Transition condition
      */
-    public BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> completeCycleTransition() {
-        return (context, root) -> atleastOneCycleFinished();
+    public CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> completeCycleTransition() {
+        return new CycleCompletionCondition<>(this, null);
     }
 
     /**
@@ -220,7 +446,124 @@ public abstract class State<
      */
     private class Transition {
         STATE_TYPE toState;
-        BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> transitionFunction;
+        BiPredicate<TRANSITION_CONTEXT, TRANSITION_ROOT> transitionFunction;
+        CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> cycleCompletion;
         boolean overridesInterruptibleFlag;
     }
+
+    /**
+     * Condition for when to transition to a state. Tested as a primitive {@link BiPredicate}, so checking it boxes nothing.
+     * It is a {@link BiFunction} as well only so that lambdas and method references pass as conditions rather than as
+     * the deprecated {@link BiFunction} conditions, which are still accepted for conditions held in variables.
+     *
+     * @param <TRANSITION_CONTEXT> Type of object providing context to the state
+     * @param <TRANSITION_ROOT> Type of object that is used for the state's transitions
+     */
+    @FunctionalInterface
+    public interface TransitionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT>
+        extends BiPredicate<TRANSITION_CONTEXT, TRANSITION_ROOT>, BiFunction<TRANSITION_CONTEXT, TRANSITION_ROOT, Boolean> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        default Boolean apply(TRANSITION_CONTEXT contextProvider, TRANSITION_ROOT rootEntity) {
+            return test(contextProvider, rootEntity);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        default TransitionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> and(
+            BiPredicate<? super TRANSITION_CONTEXT, ? super TRANSITION_ROOT> other
+        ) {
+            Objects.requireNonNull(other, "Condition must not be null.");
+            return (contextProvider, rootEntity) -> test(contextProvider, rootEntity) && other.test(contextProvider, rootEntity);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        default TransitionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> or(
+            BiPredicate<? super TRANSITION_CONTEXT, ? super TRANSITION_ROOT> other
+        ) {
+            Objects.requireNonNull(other, "Condition must not be null.");
+            return (contextProvider, rootEntity) -> test(contextProvider, rootEntity) || other.test(contextProvider, rootEntity);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        default TransitionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> negate() {
+            return (contextProvider, rootEntity) -> !test(contextProvider, rootEntity);
+        }
+    }
+
+    /**
+     * Transition condition met once a state has finished a cycle, and optionally once other conditions are met as well.
+     * Checked by the automata against its own ticks, given to {@link #createTransition(CycleCompletionCondition, State)}
+     * and the like rather than being a condition of its own.
+     *
+     * @param <TRANSITION_CONTEXT> Type of object providing context to the state
+     * @param <TRANSITION_ROOT> Type of object that is used for the state's transitions
+     */
+    public static final class CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> {
+
+        private final State<?, TRANSITION_CONTEXT, TRANSITION_ROOT> state;
+        private final BiPredicate<TRANSITION_CONTEXT, TRANSITION_ROOT> condition;
+
+        /**
+         * Instantiate a condition met once a state has finished a cycle.
+         *
+         * @param state The state
+         * @param condition Condition that must be met as well, null if none
+         */
+        private CycleCompletionCondition(
+            State<?, TRANSITION_CONTEXT, TRANSITION_ROOT> state,
+            BiPredicate<TRANSITION_CONTEXT, TRANSITION_ROOT> condition
+        ) {
+            this.state = state;
+            this.condition = condition;
+        }
+
+        /**
+         * Create a condition met once the state has finished a cycle and another condition is met as well. The other
+         * condition is only tested once the cycle has been finished.
+         *
+         * @param condition The other condition
+         * @return The combined condition
+         */
+        public CycleCompletionCondition<TRANSITION_CONTEXT, TRANSITION_ROOT> and(
+            BiPredicate<? super TRANSITION_CONTEXT, ? super TRANSITION_ROOT> condition
+        ) {
+            Objects.requireNonNull(condition, "Condition must not be null.");
+            final BiPredicate<TRANSITION_CONTEXT, TRANSITION_ROOT> combinedCondition = this.condition == null
+                ? condition::test
+                : this.condition.and(condition);
+            return new CycleCompletionCondition<>(state, combinedCondition);
+        }
+
+        /**
+         * Has the state finished a cycle, and are the other conditions met? A state that is not being applied has not
+         * been applied since it was transitioned to, so it has not finished a cycle.
+         *
+         * @param activeState The state the automata is applying
+         * @param activeStateTicks Ticks the active state has been applied for
+         * @param contextProvider Object providing greater context
+         * @param rootEntity Object that is used to be deciding transition factor
+         * @return True if a cycle has been finished and the other conditions are met
+         */
+        boolean isMet(
+            State<?, ?, ?> activeState,
+            long activeStateTicks,
+            TRANSITION_CONTEXT contextProvider,
+            TRANSITION_ROOT rootEntity
+        ) {
+            return state.atleastOneCycleFinished(state == activeState ? activeStateTicks : 0L) &&
+                (condition == null || condition.test(contextProvider, rootEntity));
+        }
+    }
 }
@@ -41,7 +41,19 @@ public abstract class StopMotionController<CONTEXT_PROVIDER, ANIMATION_OF_TYPE,
         ANIMATION_OF_TYPE animatedObject,
         Object... parameters
     ) {
-        return state.nextSprite();
+        return spriteOf(state);
+    }
+
+    /**
+     * Get the sprite of the active state at the tick it is on and count the tick.
+     *
+     * @param state The active state
+     * @return The sprite
+     */
+    private BufferedImage spriteOf(StopMotionState<CONTEXT_PROVIDER, ANIMATION_OF_TYPE, SPRITE_SHEET_TYPE> state) {
+        final BufferedImage sprite = state.nextSprite(spriteSheet, getActiveStateTicks());
+        tickActiveState();
+        return sprite;
     }
 
     /**
@@ -53,7 +65,24 @@ public abstract class StopMotionController<CONTEXT_PROVIDER, ANIMATION_OF_TYPE,
      * @return The sprite to render
      */
     public BufferedImage nextSprite(CONTEXT_PROVIDER contextProvider, ANIMATION_OF_TYPE animatedEntity) {
-        return nextAction(contextProvider, animatedEntity);
+        // Applied directly rather than through nextAction, so no parameter array is allocated on every frame
+        return spriteOf(nextState(contextProvider, animatedEntity));
+    }
+
+    /**
+     * Advance the controller some ticks without fetching their sprites, as if {@link #nextSprite(Object, Object)} had been
+     * called that many times. Takes about the same time however many ticks are advanced, so it suits catching up after
+     * rendering has stalled.
+     *
+     * @param contextProvider Provider of a greater context of the state of the program
+     * @param animatedEntity The animated entity
+     * @param ticks The ticks to advance
+     */
+    public void advance(CONTEXT_PROVIDER contextProvider, ANIMATION_OF_TYPE animatedEntity, long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Cannot advance a negative amount of ticks.");
+        }
+        skipTicks(contextProvider, animatedEntity, ticks);
     }
 
     /**
@@ -6,13 +6,15 @@ import com.andronikus.animation4j.util.Pair;
 
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
 
 /**
  * State in a stop motion animation. The animation has a set of states. These states are just descriptions about the
  * condition of the of animated object. Within each state, are the frames that the state cycles through and transitions
- * to other states.
+ * to other states. How long a state has been on is kept by the controller, so states can be shared by controllers.
  *
  * @param <ANIMATION_OF_TYPE> The type of object being animated
  * @param <SPRITE_SHEET_TYPE> The type of sprite sheet being used to pull frames from
@@ -24,10 +26,9 @@ public class StopMotionState<CONTEXT_PROVIDER, ANIMATION_OF_TYPE, SPRITE_SHEET_T
     ANIMATION_OF_TYPE
 > {
 
-    private final StopMotionController<CONTEXT_PROVIDER, ANIMATION_OF_TYPE, SPRITE_SHEET_TYPE> controller;
-
-    // Counter of render ticks on this animation state
-    private long ticksOnState = 0;
+    // Controller the state was built by, only used to build further states. Let go of once the state is compiled, so
+    // shared state graphs do not keep the controller that built them from being collected.
+    private StopMotionController<CONTEXT_PROVIDER, ANIMATION_OF_TYPE, SPRITE_SHEET_TYPE> controller;
 
     /*
      * List of frame states.
@@ -43,6 +44,14 @@ public class StopMotionState<CONTEXT_PROVIDER, ANIMATION_OF_TYPE, SPRITE_SHEET_T
     // Whether a frame has been added to the state that declares this as the last frame to be rendered
     private boolean finalFrameAdded = false;
 
+    // Tick each frame starts on, compiled from the frames on the first sprite after a frame is added
+    private long[] frameStartTicks = null;
+
+    // Whether sprites are fetched once per frame, and the sprites fetched so far. Atomic, since shared states can be
+    // applied by controllers on different threads.
+    private boolean cacheSprites = false;
+    private AtomicReferenceArray<BufferedImage> cachedSprites = null;
+
     /**
      * Instantiate a state in a stop motion animation.
      *
@@ -54,46 +63,99 @@ public class StopMotionState<CONTEXT_PROVIDER, ANIMATION_OF_TYPE, SPRITE_SHEET_T
     }
 
     /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void transitionTo() {
-        ticksOnState = 0;
-    }
-
-    /**
-     * Get the next sprite in this state. This is a stateful method.
+     * Get the sprite of this state after it has been on for some ticks.
      *
-     * @return The next sprite
+     * @param spriteSheet The sprite sheet to take the sprite from
+     * @param ticksOnState Ticks the state has been on
+     * @return The sprite
      */
-    public BufferedImage nextSprite() {
+    public BufferedImage nextSprite(SPRITE_SHEET_TYPE spriteSheet, long ticksOnState) {
         long frameIndex = ticksOnState % frameResetTickCount;
 
         if (finalFrameAdded) {
             frameIndex = ticksOnState;
         }
 
-        long tickCounter = 0;
+        if (frameStartTicks == null) {
+            compileFrames();
+        }
 
-        Pair<Long, BiFunction<SPRITE_SHEET_TYPE, Integer, BufferedImage>> activeFrame = null;
-        int frameNumber = -1;
-        for (Pair<Long, BiFunction<SPRITE_SHEET_TYPE, Integer, BufferedImage>> animationFrame : animationFrames) {
-            if (frameIndex >= tickCounter) {
-                activeFrame = animationFrame;
-                frameNumber++;
-            }
+        final int frameNumber = frameNumberAt(frameIndex);
+        if (frameNumber < 0) {
+            return null;
+        }
 
-            if (animationFrame.getFirst() != null) {
-                tickCounter += animationFrame.getFirst();
-            }
+        if (!cacheSprites) {
+            return animationFrames.get(frameNumber).getSecond().apply(spriteSheet, frameNumber);
         }
 
-        ticksOnState++;
-        if (activeFrame == null) {
-            return null;
+        BufferedImage sprite = cachedSprites.get(frameNumber);
+        if (sprite == null) {
+            sprite = animationFrames.get(frameNumber).getSecond().apply(spriteSheet, frameNumber);
+            cachedSprites.set(frameNumber, sprite);
         }
+        return sprite;
+    }
 
-        return activeFrame.getSecond().apply(controller.getSpriteSheet(), frameNumber);
+    /**
+     * Find the frame that is active at a tick, the last frame that starts at or before it.
+     *
+     * @param frameIndex The tick
+     * @return The number of the frame, -1 if no frame starts at or before it
+     */
+    private int frameNumberAt(long frameIndex) {
+        int frameNumber = Arrays.binarySearch(frameStartTicks, frameIndex);
+        if (frameNumber < 0) {
+            return -frameNumber - 2;
+        }
+
+        // Frames lasting no ticks start at the same tick as the frame after them
+        while (frameNumber + 1 < frameStartTicks.length && frameStartTicks[frameNumber + 1] == frameIndex) {
+            frameNumber++;
+        }
+        return frameNumber;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void compile() {
+        if (frameStartTicks == null) {
+            compileFrames();
+        }
+        controller = null;
+    }
+
+    /**
+     * Compile the tick each frame starts on into an array, so the active frame can be found without walking the frames.
+     */
+    private void compileFrames() {
+        final long[] startTicks = new long[animationFrames.size()];
+        long tickCounter = 0;
+        for (int frameNumber = 0; frameNumber < startTicks.length; frameNumber++) {
+            startTicks[frameNumber] = tickCounter;
+
+            final Long tickCount = animationFrames.get(frameNumber).getFirst();
+            if (tickCount != null) {
+                tickCounter += tickCount;
+            }
+        }
+        cachedSprites = new AtomicReferenceArray<>(startTicks.length);
+        frameStartTicks = startTicks;
+    }
+
+    /**
+     * Set whether the sprite of each frame is only fetched from the sprite sheet once and then reused. Only appropriate
+     * when the sprite call backs always give the same sprite for the same frame. When controllers share states, the
+     * sprites are fetched from the sprite sheet of whichever controller first shows each frame.
+     *
+     * @param cacheSprites Whether to cache sprites
+     * @return Self so that this can be called in a builder-like fashion
+     */
+    public StopMotionState<CONTEXT_PROVIDER, ANIMATION_OF_TYPE, SPRITE_SHEET_TYPE> withCachedSprites(boolean cacheSprites) {
+        this.cacheSprites = cacheSprites;
+        return this;
     }
 
     /**
@@ -109,6 +171,7 @@ public class StopMotionState<CONTEXT_PROVIDER, ANIMATION_OF_TYPE, SPRITE_SHEET_T
         }
 
         this.animationFrames.add(new Pair<>(tickCount, spriteCallBack));
+        frameStartTicks = null;
         if (tickCount != null) {
             frameResetTickCount += tickCount;
         } else {
@@ -122,10 +185,18 @@ public class StopMotionState<CONTEXT_PROVIDER, ANIMATION_OF_TYPE, SPRITE_SHEET_T
      * {@inheritDoc}
      */
     @Override
-    protected boolean atleastOneCycleFinished() {
+    protected boolean atleastOneCycleFinished(long ticksOnState) {
         return ticksOnState > frameResetTickCount;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected long ticksUntilCycleFinished(long ticksOnState) {
+        return Math.max(0, frameResetTickCount + 1 - ticksOnState);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,203 @@
+package com.andronikus.animation4j.util;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reader of a bundle of assets packed into a single file by an {@link AssetBundleBuilder}. The index of the bundle is
+ * read when it is opened, after which each asset is one positional read of the one open file. Safe to read from multiple
+ * threads.
+ *
+ * Images in a bundle can be given to sprite sheets and limb image providers directly, or every image can be loaded from
+ * the bundle by path with {@code ImageCache.getDefault().setLoader(bundle::getImage)}.
+ *
+ * The file starts with a header of the magic number, format version, amount of assets and length of the index, so the
+ * index is read in one go. The index has an entry for each asset: the length of its name, the UTF-8 name, the offset of
+ * its payload in the file and the payload's length. The payloads, the encoded assets, follow the index.
+ *
+ * @author Andronikus
+ */
+public class AssetBundle implements Closeable {
+
+    // "A4JB", followed by the version of the format
+    static final int MAGIC = 0x41344A42;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_LENGTH = 4 + 4 + 4 + 4;
+
+    private final FileChannel channel;
+
+    // Offset and length of each asset's payload by name
+    private final Map<String, long[]> index = new HashMap<>();
+
+    /**
+     * Open an asset bundle.
+     *
+     * @param bundleFile The bundle file
+     */
+    public AssetBundle(Path bundleFile) {
+        try {
+            channel = FileChannel.open(bundleFile, StandardOpenOption.READ);
+        } catch (IOException problem) {
+            throw new UncheckedIOException(problem);
+        }
+
+        try {
+            readIndex(bundleFile);
+        } catch (IOException | RuntimeException problem) {
+            try {
+                channel.close();
+            } catch (IOException closeProblem) {
+                problem.addSuppressed(closeProblem);
+            }
+            if (problem instanceof IOException) {
+                throw new UncheckedIOException((IOException) problem);
+            }
+            throw (RuntimeException) problem;
+        }
+    }
+
+    /**
+     * Read the index of the bundle.
+     *
+     * @param bundleFile The bundle file, for error messages
+     * @throws IOException If the file could not be read
+     */
+    private void readIndex(Path bundleFile) throws IOException {
+        final ByteBuffer header = read(0, HEADER_LENGTH);
+        if (header.getInt() != MAGIC) {
+            throw new IllegalArgumentException(bundleFile + " is not an asset bundle.");
+        }
+        if (header.getInt() != FORMAT_VERSION) {
+            throw new IllegalArgumentException(bundleFile + " is an asset bundle of an unsupported version.");
+        }
+
+        final int assetCount = header.getInt();
+        final int indexLength = header.getInt();
+        final long fileLength = channel.size();
+        if (assetCount < 0 || indexLength < 0 || HEADER_LENGTH + (long) indexLength > fileLength) {
+            throw new IllegalArgumentException(bundleFile + " has an index outside of the file.");
+        }
+
+        // The index is read in one go and parsed from memory
+        final ByteBuffer entries = read(HEADER_LENGTH, indexLength);
+        try {
+            for (int assetIndex = 0; assetIndex < assetCount; assetIndex++) {
+                final int nameLength = entries.getInt();
+                if (nameLength < 0 || nameLength > entries.remaining()) {
+                    throw new IllegalArgumentException(bundleFile + " has an index entry outside of the index.");
+                }
+
+                final byte[] name = new byte[nameLength];
+                entries.get(name);
+                final long offset = entries.getLong();
+                final int length = entries.getInt();
+                if (offset < 0 || length < 0 || offset + length > fileLength) {
+                    throw new IllegalArgumentException(bundleFile + " has an asset outside of the file.");
+                }
+                index.put(new String(name, StandardCharsets.UTF_8), new long[] {offset, length});
+            }
+        } catch (BufferUnderflowException problem) {
+            throw new IllegalArgumentException(bundleFile + " has an index entry outside of the index.", problem);
+        }
+    }
+
+    /**
+     * Read part of the bundle.
+     *
+     * @param position Position in the file to read from
+     * @param length Amount of bytes to read
+     * @return Buffer of the bytes, positioned at the start
+     * @throws IOException If the file could not be read
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.BIG_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IllegalArgumentException("Asset bundle ends before expected.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Get the names of the assets in the bundle.
+     *
+     * @return The names
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * Check if the bundle has an asset.
+     *
+     * @param name The name of the asset
+     * @return True if the bundle has it
+     */
+    public boolean contains(String name) {
+        return index.containsKey(name);
+    }
+
+    /**
+     * Get the encoded bytes of an asset.
+     *
+     * @param name The name of the asset
+     * @return The bytes
+     */
+    public byte[] getBytes(String name) {
+        final long[] entry = index.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("No asset named " + name + " in the bundle.");
+        }
+
+        try {
+            return read(entry[0], (int) entry[1]).array();
+        } catch (IOException problem) {
+            throw new UncheckedIOException(problem);
+        }
+    }
+
+    /**
+     * Decode an image in the bundle.
+     *
+     * @param name The name of the image
+     * @return The image
+     */
+    public BufferedImage getImage(String name) {
+        try {
+            final BufferedImage image = ImageIO.read(new ByteArrayInputStream(getBytes(name)));
+            if (image == null) {
+                throw new IllegalArgumentException("No image reader could decode " + name + ".");
+            }
+            return image;
+        } catch (IOException problem) {
+            throw new UncheckedIOException(problem);
+        }
+    }
+
+    /**
+     * Close the bundle file.
+     *
+     * @throws IOException If the file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
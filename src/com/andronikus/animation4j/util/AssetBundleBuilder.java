@@ -0,0 +1,114 @@
+package com.andronikus.animation4j.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builder of an {@link AssetBundle} file. Assets are stored as they are given, so images should be given encoded, such
+ * as the bytes of a PNG.
+ *
+ * @author Andronikus
+ */
+public class AssetBundleBuilder {
+
+    private final Map<String, byte[]> assets = new LinkedHashMap<>();
+
+    /**
+     * Add an asset to the bundle.
+     *
+     * @param name The name of the asset, such as the path it would have on the class path
+     * @param bytes The encoded asset
+     * @return Self
+     */
+    public AssetBundleBuilder withAsset(String name, byte[] bytes) {
+        if (assets.containsKey(name)) {
+            throw new IllegalArgumentException("Asset bundle already has an asset named " + name + ".");
+        }
+        assets.put(name, bytes.clone());
+        return this;
+    }
+
+    /**
+     * Add a file to the bundle.
+     *
+     * @param name The name of the asset
+     * @param file The file
+     * @return Self
+     */
+    public AssetBundleBuilder withFile(String name, Path file) {
+        try {
+            return withAsset(name, Files.readAllBytes(file));
+        } catch (IOException problem) {
+            throw new UncheckedIOException(problem);
+        }
+    }
+
+    /**
+     * Add a resource on the class path to the bundle, named by its path.
+     *
+     * @param path The path to the resource
+     * @return Self
+     */
+    public AssetBundleBuilder withResource(String path) {
+        try (InputStream resourceStream = AssetBundleBuilder.class.getClassLoader().getResourceAsStream(path)) {
+            if (resourceStream == null) {
+                throw new IllegalArgumentException("No resource on the class path at " + path + ".");
+            }
+            return withAsset(path, resourceStream.readAllBytes());
+        } catch (IOException problem) {
+            throw new UncheckedIOException(problem);
+        }
+    }
+
+    /**
+     * Write the bundle to a file.
+     *
+     * @param bundleFile The file to write, replaced if it exists
+     */
+    public void write(Path bundleFile) {
+        int indexLength = 0;
+        for (String name : assets.keySet()) {
+            indexLength += 4 + name.getBytes(StandardCharsets.UTF_8).length + 8 + 4;
+        }
+
+        final ByteBuffer index = ByteBuffer.allocate(AssetBundle.HEADER_LENGTH + indexLength).order(ByteOrder.BIG_ENDIAN);
+        index.putInt(AssetBundle.MAGIC).putInt(AssetBundle.FORMAT_VERSION).putInt(assets.size()).putInt(indexLength);
+
+        long offset = index.capacity();
+        for (Map.Entry<String, byte[]> asset : assets.entrySet()) {
+            final byte[] name = asset.getKey().getBytes(StandardCharsets.UTF_8);
+            index.putInt(name.length).put(name).putLong(offset).putInt(asset.getValue().length);
+            offset += asset.getValue().length;
+        }
+        index.flip();
+
+        try (FileChannel channel = FileChannel.open(
+            bundleFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            while (index.hasRemaining()) {
+                channel.write(index);
+            }
+            for (byte[] payload : assets.values()) {
+                final ByteBuffer payloadBuffer = ByteBuffer.wrap(payload);
+                while (payloadBuffer.hasRemaining()) {
+                    channel.write(payloadBuffer);
+                }
+            }
+        } catch (IOException problem) {
+            throw new UncheckedIOException(problem);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.andronikus.animation4j.util;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.jar.JarEntry;
+
+/**
+ * On-disk cache of decoded images. The first time an image is loaded, its decoded ARGB pixels are written to a file in
+ * the cache directory. On later loads, that file is memory mapped and its pixels are copied straight into an image, which
+ * skips decoding. A cached file is used without reading the source if the source has the same length and modification
+ * time it was made from. Otherwise, it is only used if it was made from a source with the same hash, so changed images
+ * are decoded again.
+ *
+ * The cache only ever speeds loading up. A cached file that cannot be read, or cannot be written, such as in a read-only
+ * directory, counts as a miss and the image is decoded.
+ *
+ * To use it for every image, set it as the loader of the default image cache:
+ * {@code ImageCache.getDefault().setLoader(new DecodedPixelCache(directory)::loadImage)}.
+ *
+ * @author Andronikus
+ */
+public class DecodedPixelCache {
+
+    // "A4JP", followed by the version of the format
+    private static final int MAGIC = 0x41344A50;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_LENGTH = 4 + 4 + 8 + 8 + HASH_LENGTH + 4 + 4;
+
+    private final Path directory;
+
+    /**
+     * Instantiate an on-disk cache of decoded images.
+     *
+     * @param directory Directory to keep decoded images in, created if it does not exist
+     */
+    public DecodedPixelCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Load the image at a location within the image directory, from the cache if it has an up-to-date copy of it.
+     *
+     * @param filePath The path to the image
+     * @return The image
+     */
+    public BufferedImage loadImage(String filePath) {
+        final URL resource = findResource(filePath);
+        final long[] sourceStamp = readSourceStamp(resource);
+        final long sourceLength = sourceStamp[0];
+        final long sourceModified = sourceStamp[1];
+        final Path cacheFile = cacheFileFor(filePath);
+
+        // Sources whose length or modification time is unknown are always hashed
+        if (sourceLength >= 0 && sourceModified > 0) {
+            final BufferedImage cached = readCacheFile(cacheFile, sourceLength, sourceModified, null);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final byte[] source = readResource(resource);
+        final byte[] sourceHash = hash(source);
+        final BufferedImage cached = readCacheFile(cacheFile, sourceLength, sourceModified, sourceHash);
+        if (cached != null) {
+            if (sourceLength >= 0 && sourceModified > 0) {
+                // The source is unchanged but was touched, so record its length and modification time for next time
+                writeCacheFile(cacheFile, sourceLength, sourceModified, sourceHash, cached);
+            }
+            return cached;
+        }
+
+        final BufferedImage decoded;
+        try {
+            decoded = ImageIO.read(new ByteArrayInputStream(source));
+        } catch (IOException problem) {
+            throw new UncheckedIOException(problem);
+        }
+        if (decoded == null) {
+            throw new IllegalArgumentException("No image reader could decode " + filePath + ".");
+        }
+        final BufferedImage image = toArgb(decoded);
+        writeCacheFile(cacheFile, sourceLength, sourceModified, sourceHash, image);
+        return image;
+    }
+
+    /**
+     * Get the cache file of an image. Files are named by the hash of the path to the image, so every path has a file of
+     * its own, however similar paths are.
+     *
+     * @param filePath The path to the image
+     * @return The cache file
+     */
+    private Path cacheFileFor(String filePath) {
+        final StringBuilder fileName = new StringBuilder(2 * HASH_LENGTH + ".pixels".length());
+        for (byte hashByte : hash(filePath.getBytes(StandardCharsets.UTF_8))) {
+            fileName.append(Character.forDigit((hashByte >> 4) & 0xF, 16)).append(Character.forDigit(hashByte & 0xF, 16));
+        }
+        return directory.resolve(fileName.append(".pixels").toString());
+    }
+
+    /**
+     * Read the cached pixels of an image. The cached file is up to date if it was made from a source with the same hash,
+     * or, when no hash is given, from a source with the same length and modification time.
+     *
+     * @param cacheFile The cache file
+     * @param sourceLength Length of the source
+     * @param sourceModified Modification time of the source
+     * @param sourceHash Hash of the source the image must have been decoded from, null to go by length and time
+     * @return The image, null if the file does not exist, is out of date or could not be read
+     */
+    private static BufferedImage readCacheFile(Path cacheFile, long sourceLength, long sourceModified, byte[] sourceHash) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_LENGTH) {
+                return null;
+            }
+
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.BIG_ENDIAN);
+            if (mapped.getInt() != MAGIC || mapped.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            final long cachedSourceLength = mapped.getLong();
+            final long cachedSourceModified = mapped.getLong();
+            final byte[] cachedHash = new byte[HASH_LENGTH];
+            mapped.get(cachedHash);
+            final boolean upToDate = sourceHash == null
+                ? cachedSourceLength == sourceLength && cachedSourceModified == sourceModified
+                : Arrays.equals(cachedHash, sourceHash);
+            if (!upToDate) {
+                return null;
+            }
+
+            final int width = mapped.getInt();
+            final int height = mapped.getInt();
+            if (width <= 0 || height <= 0 || channel.size() != HEADER_LENGTH + 4L * width * height) {
+                return null;
+            }
+
+            // Bulk copy rather than wrapping the mapping, Java2D only draws quickly from array backed rasters
+            final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            mapped.asIntBuffer().get(((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+            return image;
+        } catch (IOException problem) {
+            return null;
+        }
+    }
+
+    /**
+     * Write the pixels of an image to a cache file. The file is written next to its final location and moved into place,
+     * so a reader never sees half of a file. If the file cannot be written, such as in a read-only directory or on a file
+     * system that cannot move files atomically, nothing is cached.
+     *
+     * @param cacheFile The cache file
+     * @param sourceLength Length of the source
+     * @param sourceModified Modification time of the source
+     * @param sourceHash Hash of the source the image was decoded from
+     * @param image The image, of type ARGB
+     */
+    private void writeCacheFile(Path cacheFile, long sourceLength, long sourceModified, byte[] sourceHash, BufferedImage image) {
+        final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(sourceLength).putLong(sourceModified).put(sourceHash)
+            .putInt(image.getWidth()).putInt(image.getHeight());
+        header.flip();
+
+        final ByteBuffer body = ByteBuffer.allocate(4 * pixels.length).order(ByteOrder.BIG_ENDIAN);
+        body.asIntBuffer().put(pixels);
+
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (body.hasRemaining()) {
+                    channel.write(body);
+                }
+            }
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temporaryFile = null;
+        } catch (IOException problem) {
+            // The image was decoded all the same, it only is not cached
+        } finally {
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (IOException problem) {
+                    // Left for the next write of the file to replace
+                }
+            }
+        }
+    }
+
+    /**
+     * Copy an image into an image of type ARGB, unless it is one already.
+     *
+     * @param image The image
+     * @return The ARGB image
+     */
+    private static BufferedImage toArgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            return image;
+        }
+
+        final BufferedImage argb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        final int[] pixels = ((DataBufferInt) argb.getRaster().getDataBuffer()).getData();
+        image.getRGB(0, 0, image.getWidth(), image.getHeight(), pixels, 0, image.getWidth());
+        return argb;
+    }
+
+    /**
+     * Find an image on the class path.
+     *
+     * @param filePath The path to the image
+     * @return The location of the image
+     */
+    private static URL findResource(String filePath) {
+        final URL resource = DecodedPixelCache.class.getClassLoader().getResource(filePath);
+        if (resource == null) {
+            throw new IllegalArgumentException("No image on the class path at " + filePath + ".");
+        }
+        return resource;
+    }
+
+    /**
+     * Get the length and modification time of an image on the class path without opening it. Only files and entries of
+     * jars are looked at this way, the length and time of anything else are unknown, so it is hashed on every load.
+     *
+     * @param resource The location of the image
+     * @return The length, -1 if unknown, and the modification time, 0 if unknown
+     */
+    private static long[] readSourceStamp(URL resource) {
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                final Path sourceFile = Paths.get(resource.toURI());
+                return new long[] {Files.size(sourceFile), Files.getLastModifiedTime(sourceFile).toMillis()};
+            }
+            if ("jar".equals(resource.getProtocol())) {
+                // Looks the entry up in the jar the class loader already has open, without opening the entry
+                final JarEntry entry = ((JarURLConnection) resource.openConnection()).getJarEntry();
+                return new long[] {entry.getSize(), Math.max(0L, entry.getTime())};
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException problem) {
+            // Unknown, so the source is hashed
+        }
+        return new long[] {-1L, 0L};
+    }
+
+    /**
+     * Read the bytes of an image on the class path.
+     *
+     * @param resource The location of the image
+     * @return The bytes
+     */
+    private static byte[] readResource(URL resource) {
+        try (InputStream imageStream = resource.openStream()) {
+            return imageStream.readAllBytes();
+        } catch (IOException problem) {
+            throw new UncheckedIOException(problem);
+        }
+    }
+
+    /**
+     * Hash the source of an image.
+     *
+     * @param source The source
+     * @return The hash
+     */
+    private static byte[] hash(byte[] source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source);
+        } catch (NoSuchAlgorithmException problem) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(problem);
+        }
+    }
+}
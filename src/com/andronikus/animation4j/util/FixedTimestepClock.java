@@ -0,0 +1,79 @@
+package com.andronikus.animation4j.util;
+
+/**
+ * Clock that ticks at a fixed rate regardless of how often it is checked. The updating thread asks how many ticks are
+ * due and advances its controllers by that many, the rendering thread asks how far into the current tick it is and
+ * interpolates by that much.
+ *
+ * {@link #ticksDue(long)} must only be called from one thread. {@link #alpha(long)} can be called from any thread.
+ *
+ * @author Andronikus
+ */
+public class FixedTimestepClock {
+
+    private final long tickNanos;
+
+    // Only touched by the updating thread
+    private long startNanos = 0L;
+    private long ticksIssued = -1L;
+
+    // Start of the latest tick issued, read by the rendering thread
+    private volatile long latestTickNanos = 0L;
+
+    /**
+     * Instantiate a clock.
+     *
+     * @param ticksPerSecond Ticks per second
+     */
+    public FixedTimestepClock(double ticksPerSecond) {
+        if (!(ticksPerSecond > 0.0)) {
+            throw new IllegalArgumentException("Ticks per second must be positive.");
+        }
+        tickNanos = Math.max(1L, (long) (1_000_000_000.0 / ticksPerSecond));
+    }
+
+    /**
+     * Get how many ticks have become due since the last call. The first call starts the clock and counts as a tick.
+     *
+     * @param nanoTime The current time, from {@link System#nanoTime()}
+     * @return The ticks due
+     */
+    public long ticksDue(long nanoTime) {
+        if (ticksIssued < 0) {
+            startNanos = nanoTime;
+            ticksIssued = 0L;
+            latestTickNanos = nanoTime;
+            return 1L;
+        }
+
+        final long elapsedTicks = (nanoTime - startNanos) / tickNanos;
+        if (elapsedTicks <= ticksIssued) {
+            return 0L;
+        }
+
+        final long dueTicks = elapsedTicks - ticksIssued;
+        ticksIssued = elapsedTicks;
+        latestTickNanos = startNanos + elapsedTicks * tickNanos;
+        return dueTicks;
+    }
+
+    /**
+     * Get how far into the current tick the clock is.
+     *
+     * @param nanoTime The current time, from {@link System#nanoTime()}
+     * @return From 0 at the start of the latest tick to 1 when the next tick is due
+     */
+    public double alpha(long nanoTime) {
+        final double alpha = (double) (nanoTime - latestTickNanos) / (double) tickNanos;
+        return Math.max(0.0, Math.min(1.0, alpha));
+    }
+
+    /**
+     * Get the length of a tick.
+     *
+     * @return Length of a tick in nanoseconds
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+}
@@ -0,0 +1,292 @@
+package com.andronikus.animation4j.util;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Cache of decoded images by their resource path, so that every sprite sheet and limb using the same image shares one
+ * decoded copy of it. Images that have not been used recently are evicted once the cache holds more than its memory
+ * budget. Images handed out are shared and must not be drawn on.
+ *
+ * Safe to use from multiple threads. When several threads ask for the same image that is not cached, it is decoded once.
+ *
+ * @author Andronikus
+ */
+public class ImageCache {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024L * 1024L;
+
+    private static final ImageCache DEFAULT_CACHE = new ImageCache(DEFAULT_MEMORY_BUDGET, ImagesUtil::loadImage);
+
+    private volatile Function<String, BufferedImage> loader;
+    private long memoryBudget;
+
+    // Least recently used first
+    private final LinkedHashMap<String, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<BufferedImage>> loadsInProgress = new HashMap<>();
+
+    // Statistics
+    private long cachedBytes = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Instantiate an image cache.
+     *
+     * @param memoryBudget Most bytes of decoded images to hold
+     * @param loader Function that decodes the image at a path
+     */
+    public ImageCache(long memoryBudget, Function<String, BufferedImage> loader) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Memory budget cannot be negative.");
+        }
+        this.memoryBudget = memoryBudget;
+        this.loader = loader;
+    }
+
+    /**
+     * Get the cache used by {@link ImagesUtil#getImage(String)}.
+     *
+     * @return The process-wide cache
+     */
+    public static ImageCache getDefault() {
+        return DEFAULT_CACHE;
+    }
+
+    /**
+     * Get an image, decoding it if it is not cached.
+     *
+     * @param path The path to the image
+     * @return The image
+     */
+    public BufferedImage getImage(String path) {
+        final CompletableFuture<BufferedImage> load;
+        boolean loadHere = false;
+        synchronized (this) {
+            final BufferedImage image = images.get(path);
+            if (image != null) {
+                hitCount++;
+                return image;
+            }
+
+            missCount++;
+            CompletableFuture<BufferedImage> loadInProgress = loadsInProgress.get(path);
+            if (loadInProgress == null) {
+                loadInProgress = new CompletableFuture<>();
+                loadsInProgress.put(path, loadInProgress);
+                loadHere = true;
+            }
+            load = loadInProgress;
+        }
+
+        // Decode outside the lock, so that different images can be decoded at the same time. Whatever is thrown, threads
+        // waiting on the load are woken and the next ask for the image decodes it again.
+        if (loadHere) {
+            try {
+                final BufferedImage image = loader.apply(path);
+                synchronized (this) {
+                    store(path, image);
+                }
+                load.complete(image);
+            } catch (Throwable problem) {
+                load.completeExceptionally(problem);
+                throw problem;
+            } finally {
+                synchronized (this) {
+                    loadsInProgress.remove(path);
+                }
+            }
+        }
+
+        try {
+            return load.get();
+        } catch (InterruptedException problem) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for image " + path + " to load.", problem);
+        } catch (ExecutionException problem) {
+            if (problem.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) problem.getCause();
+            }
+            if (problem.getCause() instanceof Error) {
+                throw (Error) problem.getCause();
+            }
+            throw new RuntimeException(problem.getCause());
+        }
+    }
+
+    /**
+     * Decode every image that is not cached yet, in parallel on the common fork join pool. Meant to be called before the
+     * first frame, so that images are not decoded one at a time as they are first used. Images beyond the memory budget
+     * are evicted as usual.
+     *
+     * @param paths The paths to the images
+     */
+    public void preload(Collection<String> paths) {
+        preload(paths, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Decode every image that is not cached yet, in parallel.
+     *
+     * @param paths The paths to the images
+     * @param executor Executor to decode the images on
+     */
+    public void preload(Collection<String> paths, Executor executor) {
+        final CompletableFuture<?>[] loads = new CompletableFuture<?>[paths.size()];
+        int loadIndex = 0;
+        for (String path : paths) {
+            loads[loadIndex++] = CompletableFuture.runAsync(() -> getImage(path), executor);
+        }
+
+        try {
+            CompletableFuture.allOf(loads).join();
+        } catch (CompletionException problem) {
+            if (problem.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) problem.getCause();
+            }
+            if (problem.getCause() instanceof Error) {
+                throw (Error) problem.getCause();
+            }
+            throw problem;
+        }
+    }
+
+    /**
+     * Add a decoded image to the cache and evict images until it is within budget again.
+     *
+     * @param path The path to the image
+     * @param image The image
+     */
+    private void store(String path, BufferedImage image) {
+        if (image == null) {
+            return;
+        }
+
+        final BufferedImage replaced = images.put(path, image);
+        if (replaced != null) {
+            cachedBytes -= sizeOf(replaced);
+        }
+        cachedBytes += sizeOf(image);
+        evictToBudget();
+    }
+
+    /**
+     * Evict the least recently used images until the cache is within its budget.
+     */
+    private void evictToBudget() {
+        final Iterator<BufferedImage> leastRecentlyUsed = images.values().iterator();
+        while (cachedBytes > memoryBudget && leastRecentlyUsed.hasNext()) {
+            cachedBytes -= sizeOf(leastRecentlyUsed.next());
+            leastRecentlyUsed.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Estimate the memory held by a decoded image.
+     *
+     * @param image The image
+     * @return Size in bytes
+     */
+    private static long sizeOf(BufferedImage image) {
+        final DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * (DataBuffer.getDataTypeSize(buffer.getDataType()) / 8);
+    }
+
+    /**
+     * Set the function that decodes images that are not cached. Images already cached are kept.
+     *
+     * @param loader Function that decodes the image at a path
+     */
+    public void setLoader(Function<String, BufferedImage> loader) {
+        this.loader = Objects.requireNonNull(loader, "loader must not be null.");
+    }
+
+    /**
+     * Set the most bytes of decoded images to hold, evicting images if the cache holds more.
+     *
+     * @param memoryBudget The budget in bytes
+     */
+    public synchronized void setMemoryBudget(long memoryBudget) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Memory budget cannot be negative.");
+        }
+        this.memoryBudget = memoryBudget;
+        evictToBudget();
+    }
+
+    /**
+     * Get the most bytes of decoded images to hold.
+     *
+     * @return The budget in bytes
+     */
+    public synchronized long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Remove every image from the cache. Statistics are kept.
+     */
+    public synchronized void clear() {
+        images.clear();
+        cachedBytes = 0;
+    }
+
+    /**
+     * Get the amount of images in the cache.
+     *
+     * @return Count of images
+     */
+    public synchronized int getImageCount() {
+        return images.size();
+    }
+
+    /**
+     * Get the bytes held by images in the cache.
+     *
+     * @return Size in bytes
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Get the amount of times an image was asked for and was already cached.
+     *
+     * @return Count of hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the amount of times an image was asked for and was not cached.
+     *
+     * @return Count of misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Get the amount of images evicted to stay within budget.
+     *
+     * @return Count of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+}
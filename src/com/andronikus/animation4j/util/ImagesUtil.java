@@ -1,9 +1,15 @@
 package com.andronikus.animation4j.util;
 
 import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.net.URL;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * Utility for pulling images from the file system.
@@ -14,15 +20,34 @@ import java.net.URL;
 public class ImagesUtil {
 
     /**
-     * Image at a location within the image directory
+     * Image at a location within the image directory. Images are cached by {@link ImageCache#getDefault()}, so the image
+     * is shared with everything else using it and must not be drawn on.
      *
      * @param filePath The path to the images
      * @return The image at that location in the file system
      */
     public static BufferedImage getImage(String filePath) {
-        final URL imageUrl = ImagesUtil.class.getClassLoader().getResource(filePath);
-        final String fullPath = imageUrl.getFile();
-        return getUnscopedImage(fullPath);
+        return ImageCache.getDefault().getImage(filePath);
+    }
+
+    /**
+     * Decode the image at a location within the image directory, without caching it. The image is streamed from the class
+     * path, so it can be in a jar.
+     *
+     * @param filePath The path to the images
+     * @return The image at that location in the file system
+     */
+    public static BufferedImage loadImage(String filePath) {
+        final InputStream imageStream = ImagesUtil.class.getClassLoader().getResourceAsStream(filePath);
+        if (imageStream == null) {
+            throw new IllegalArgumentException("No image on the class path at " + filePath + ".");
+        }
+
+        try (InputStream bufferedStream = new BufferedInputStream(imageStream)) {
+            return ImageIO.read(bufferedStream);
+        } catch (Exception problem) {
+            throw new RuntimeException(problem);
+        }
     }
 
     /**
@@ -35,12 +60,43 @@ public class ImagesUtil {
 
         BufferedImage image = null;
 
-        try {
-            image = ImageIO.read(new File(filePath));
+        try (InputStream imageStream = new BufferedInputStream(Files.newInputStream(Paths.get(filePath)))) {
+            image = ImageIO.read(imageStream);
         } catch (Exception problem) {
             throw new RuntimeException(problem);
         }
 
         return image;
     }
+
+    /**
+     * Copy an image into a standalone image in the format the screen draws fastest. Unlike a sub-image, the copy does not
+     * share a raster with anything, so Java2D is free to accelerate it. When there is no screen, the copy keeps the format
+     * of the original.
+     *
+     * @param image The image
+     * @return The copy
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage image) {
+        if (GraphicsEnvironment.isHeadless()) {
+            final BufferedImage copy = new BufferedImage(
+                image.getColorModel(),
+                image.getRaster().createCompatibleWritableRaster(image.getWidth(), image.getHeight()),
+                image.isAlphaPremultiplied(),
+                null
+            );
+            copy.setData(image.getRaster());
+            return copy;
+        }
+
+        final GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice()
+            .getDefaultConfiguration();
+        final BufferedImage copy = configuration.createCompatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+        final Graphics2D graphics = copy.createGraphics();
+        graphics.setComposite(AlphaComposite.Src);
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return copy;
+    }
 }
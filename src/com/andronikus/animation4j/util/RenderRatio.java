@@ -4,6 +4,10 @@ package com.andronikus.animation4j.util;
  * Ratio to the intended render sizes. The use case is if sprites or animations were designed with a certain screen
  * resolution, that they would be able to scale up or down to other resolutions.
  *
+ * Not safe to recalculate while it is being read by another thread. Animation controllers read their render ratio when
+ * rendering, and when updating with levels of detail, so it must only be changed while the controller is neither
+ * rendered nor updated.
+ *
  * @author Andronikus
  */
 public class RenderRatio {
@@ -0,0 +1,246 @@
+package com.andronikus.animation4j.animation;
+
+import com.andronikus.animation4j.animation.scenario.QwertyAnimationController;
+import com.andronikus.animation4j.featuredemo.interruption.RetractablePusher;
+import com.andronikus.animation4j.featuredemo.interruption.RetractablePusherAnimationController;
+import com.andronikus.animation4j.rig.RigPose;
+import com.andronikus.animation4j.stopmotion.scenario.QwertyState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that advancing a controller some ticks at once leaves it as updating it one tick at a time would: the same active
+ * animation, on the same tick, with the rig in the same pose and every stop motion limb on the same frame.
+ *
+ * @author Andronikus
+ */
+public class AnimationControllerAdvanceTest {
+
+    // Ticks advanced at once, from single ticks to jumps over many cycles of looping animations and stop motion states
+    private static final long[] ADVANCED_TICKS = {1L, 2L, 7L, 15L, 16L, 33L, 120L, 500L};
+
+    // Single updates after each advance, which catch state that differs without showing in the pose it left
+    private static final int FOLLOWING_UPDATES = 5;
+
+    private final Object context = new Object();
+
+    /**
+     * The retractable pusher, advanced through extending and retracting, which wait on finished cycles, and through
+     * breaking, which interrupts non-interruptible animations and starts non-interruptible stop motion on both limbs. The
+     * arm is collapsed while retracted, and every animation and stop motion state ends on a frame without a duration.
+     */
+    @Test
+    public void pusherAdvanceMatchesUpdates() {
+        for (long ticks : ADVANCED_TICKS) {
+            final RetractablePusher advancedPusher = new RetractablePusher();
+            final RetractablePusher updatedPusher = new RetractablePusher();
+            final ObservedPusherController advancedController = new ObservedPusherController(advancedPusher);
+            final ObservedPusherController updatedController = new ObservedPusherController(updatedPusher);
+            final Runnable idle = () -> {};
+            final Runnable extend = () -> {
+                advancedPusher.setExtending(true);
+                updatedPusher.setExtending(true);
+            };
+            final Runnable retract = () -> {
+                advancedPusher.setExtending(false);
+                updatedPusher.setExtending(false);
+            };
+            final Runnable breakPusher = () -> {
+                advancedPusher.setBroken(true);
+                updatedPusher.setBroken(true);
+            };
+            final Runnable repair = () -> {
+                advancedPusher.setBroken(false);
+                updatedPusher.setBroken(false);
+            };
+
+            final Runnable[] phases = {idle, extend, retract, extend, breakPusher, retract, repair, extend, idle, retract};
+            assertAdvanceMatchesUpdates(
+                advancedController, advancedPusher, updatedController, updatedPusher, phases, ticks, "Pusher"
+            );
+        }
+    }
+
+    /**
+     * QWERTY, advanced through the idle animation into the looping one, and through sad and happy stop motion states on
+     * the head and arms, whose recoveries cannot be interrupted and transition back to idle as soon as they finish.
+     */
+    @Test
+    public void qwertyAdvanceMatchesUpdates() {
+        for (long ticks : ADVANCED_TICKS) {
+            final QwertyState advancedState = new QwertyState();
+            final QwertyState updatedState = new QwertyState();
+            final ObservedQwertyController advancedController = new ObservedQwertyController(advancedState);
+            final ObservedQwertyController updatedController = new ObservedQwertyController(updatedState);
+            final Runnable idle = () -> {};
+            final Runnable sadden = () -> {
+                advancedState.setQwertySad(true);
+                updatedState.setQwertySad(true);
+            };
+            final Runnable cheerUp = () -> {
+                advancedState.setQwertySad(false);
+                updatedState.setQwertySad(false);
+                advancedState.setQwertyHappy(true);
+                updatedState.setQwertyHappy(true);
+            };
+            final Runnable calmDown = () -> {
+                advancedState.setQwertyHappy(false);
+                updatedState.setQwertyHappy(false);
+            };
+
+            final Runnable[] phases = {idle, sadden, calmDown, cheerUp, calmDown, sadden, cheerUp, calmDown, idle};
+            assertAdvanceMatchesUpdates(
+                advancedController, advancedState, updatedController, updatedState, phases, ticks, "QWERTY"
+            );
+        }
+    }
+
+    /**
+     * Run phases of an animation on two controllers, one advanced at once and the other updated one tick at a time, and
+     * check that they match after each advance and each of the updates following it.
+     *
+     * @param advancedController The controller that is advanced
+     * @param advancedEntity The entity of the controller that is advanced
+     * @param updatedController The controller that is updated
+     * @param updatedEntity The entity of the controller that is updated
+     * @param phases Changes to both entities, each followed by advancing the ticks
+     * @param ticks The ticks to advance per phase
+     * @param scenario Name of the scenario, for failure messages
+     * @param <ANIMATION_TYPE> Type of object being animated
+     */
+    private <ANIMATION_TYPE> void assertAdvanceMatchesUpdates(
+        ObservedController<ANIMATION_TYPE> advancedController,
+        ANIMATION_TYPE advancedEntity,
+        ObservedController<ANIMATION_TYPE> updatedController,
+        ANIMATION_TYPE updatedEntity,
+        Runnable[] phases,
+        long ticks,
+        String scenario
+    ) {
+        for (int phaseIndex = 0; phaseIndex < phases.length; phaseIndex++) {
+            phases[phaseIndex].run();
+
+            advancedController.advance(context, advancedEntity, ticks);
+            for (long tick = 0; tick < ticks; tick++) {
+                updatedController.update(context, updatedEntity);
+            }
+            assertSameFrame(updatedController, advancedController, scenario + " phase " + phaseIndex + " advanced " + ticks + " ticks");
+
+            for (int update = 1; update <= FOLLOWING_UPDATES; update++) {
+                advancedController.update(context, advancedEntity);
+                updatedController.update(context, updatedEntity);
+                assertSameFrame(
+                    updatedController,
+                    advancedController,
+                    scenario + " phase " + phaseIndex + " advanced " + ticks + " ticks then updated " + update + " times"
+                );
+            }
+        }
+    }
+
+    /**
+     * Check that a controller is on the same animation and tick as another, with its rig posed the same.
+     *
+     * @param expected The controller updated one tick at a time
+     * @param actual The controller advanced
+     * @param description Description of the point checked, for failure messages
+     * @param <ANIMATION_TYPE> Type of object being animated
+     */
+    private static <ANIMATION_TYPE> void assertSameFrame(
+        ObservedController<ANIMATION_TYPE> expected,
+        ObservedController<ANIMATION_TYPE> actual,
+        String description
+    ) {
+        assertSame(expected.activeAnimation(), actual.activeAnimation(), description + ": active animation");
+        assertEquals(expected.activeAnimationTicks(), actual.activeAnimationTicks(), description + ": ticks on animation");
+
+        final RigPose<Object, ANIMATION_TYPE> expectedPose = expected.pose();
+        final RigPose<Object, ANIMATION_TYPE> actualPose = actual.pose();
+        for (int limbIndex = 0; limbIndex < expectedPose.getTemplate().getLimbCount(); limbIndex++) {
+            final String limb = description + ": limb " + limbIndex + " ";
+            assertEquals(expectedPose.getRotation(limbIndex), actualPose.getRotation(limbIndex), limb + "rotation");
+            assertEquals(
+                expectedPose.getFulcrumDistanceMultiplier(limbIndex),
+                actualPose.getFulcrumDistanceMultiplier(limbIndex),
+                limb + "fulcrum distance multiplier"
+            );
+            assertEquals(expectedPose.getWidthChange(limbIndex), actualPose.getWidthChange(limbIndex), limb + "width change");
+            assertEquals(expectedPose.getHeightChange(limbIndex), actualPose.getHeightChange(limbIndex), limb + "height change");
+            assertEquals(expectedPose.isReflectX(limbIndex), actualPose.isReflectX(limbIndex), limb + "X reflection");
+            assertEquals(expectedPose.isReflectY(limbIndex), actualPose.isReflectY(limbIndex), limb + "Y reflection");
+            assertSame(expectedPose.getImage(limbIndex), actualPose.getImage(limbIndex), limb + "image");
+        }
+    }
+
+    /**
+     * Controller whose active animation and pose can be checked.
+     *
+     * @param <ANIMATION_TYPE> Type of object being animated
+     */
+    private interface ObservedController<ANIMATION_TYPE> {
+
+        void advance(Object contextObject, ANIMATION_TYPE animatedEntity, long ticks);
+
+        void update(Object contextObject, ANIMATION_TYPE animatedEntity);
+
+        Animation<Object, ANIMATION_TYPE> activeAnimation();
+
+        long activeAnimationTicks();
+
+        RigPose<Object, ANIMATION_TYPE> pose();
+    }
+
+    /**
+     * Retractable pusher controller whose active animation and pose can be checked.
+     */
+    private static final class ObservedPusherController
+        extends RetractablePusherAnimationController implements ObservedController<RetractablePusher> {
+
+        private ObservedPusherController(RetractablePusher pusher) {
+            super(pusher);
+        }
+
+        @Override
+        public Animation<Object, RetractablePusher> activeAnimation() {
+            return getActiveState();
+        }
+
+        @Override
+        public long activeAnimationTicks() {
+            return getActiveStateTicks();
+        }
+
+        @Override
+        public RigPose<Object, RetractablePusher> pose() {
+            return getRig().getPose();
+        }
+    }
+
+    /**
+     * QWERTY controller whose active animation and pose can be checked.
+     */
+    private static final class ObservedQwertyController
+        extends QwertyAnimationController implements ObservedController<QwertyState> {
+
+        private ObservedQwertyController(QwertyState state) {
+            super(state);
+        }
+
+        @Override
+        public Animation<Object, QwertyState> activeAnimation() {
+            return getActiveState();
+        }
+
+        @Override
+        public long activeAnimationTicks() {
+            return getActiveStateTicks();
+        }
+
+        @Override
+        public RigPose<Object, QwertyState> pose() {
+            return getRig().getPose();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.andronikus.animation4j.animation;
+
+import com.andronikus.animation4j.animation.scenario.QwertyAnimationController;
+import com.andronikus.animation4j.featuredemo.interruption.RetractablePusher;
+import com.andronikus.animation4j.featuredemo.interruption.RetractablePusherAnimationController;
+import com.andronikus.animation4j.rig.graphics.OffscreenGraphicsContext;
+import com.andronikus.animation4j.stopmotion.scenario.QwertyState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that, once warmed up, animating a controller allocates nothing but what Graphics2D allocates to draw its limbs.
+ *
+ * @author Andronikus
+ */
+public class AnimationControllerAllocationTest {
+
+    private static final int WARM_UP_FRAMES = 20_000;
+    private static final int MEASURED_FRAMES = 1_000;
+
+    // Bytes Graphics2D may allocate to draw one limb. It allocates a transformed image pipeline for some image types.
+    private static final long GRAPHICS_BYTES_PER_LIMB = 256;
+
+    private final Object context = new Object();
+
+    private com.sun.management.ThreadMXBean threadBean;
+    private OffscreenGraphicsContext canvas;
+    private long ticks = 0;
+
+    /**
+     * Set up the canvas, skipping the test if the JVM cannot count allocated bytes.
+     */
+    @BeforeEach
+    public void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        canvas = new OffscreenGraphicsContext(1600, 900);
+    }
+
+    /**
+     * Let go of the canvas.
+     */
+    @AfterEach
+    public void tearDown() {
+        if (canvas != null) {
+            canvas.dispose();
+        }
+    }
+
+    /**
+     * QWERTY animates with no allocation of its own.
+     */
+    @Test
+    public void qwertyRenderNextAllocatesOnlyForGraphics() {
+        final QwertyState state = new QwertyState();
+        final QwertyAnimationController controller = new QwertyAnimationController(state);
+        final Runnable frame = () -> controller.renderNext(canvas, context, state, 400, 400, 0);
+        final Runnable update = () -> controller.update(context, state);
+
+        assertAllocatesOnlyForGraphics(controller, frame, update);
+    }
+
+    /**
+     * The retractable pusher animates with no allocation of its own, while extending and retracting.
+     */
+    @Test
+    public void pusherRenderNextAllocatesOnlyForGraphics() {
+        final RetractablePusher pusher = new RetractablePusher();
+        final RetractablePusherAnimationController controller = new RetractablePusherAnimationController(pusher);
+        final Runnable frame = () -> {
+            pusher.setExtending((ticks++ / 100) % 2 == 0);
+            controller.renderNext(canvas, context, pusher, 800, 400, 0);
+        };
+        final Runnable update = () -> {
+            pusher.setExtending((ticks++ / 100) % 2 == 0);
+            controller.update(context, pusher);
+        };
+
+        assertAllocatesOnlyForGraphics(controller, frame, update);
+    }
+
+    /**
+     * Warm up a controller, then check that updating it allocates nothing and that rendering its frames allocates no more
+     * than Graphics2D may to draw its limbs.
+     *
+     * @param controller The controller
+     * @param frame Updates and renders the next frame
+     * @param update Updates the controller without rendering
+     */
+    private void assertAllocatesOnlyForGraphics(AnimationController<?, ?> controller, Runnable frame, Runnable update) {
+        for (int frameIndex = 0; frameIndex < WARM_UP_FRAMES; frameIndex++) {
+            frame.run();
+            update.run();
+        }
+
+        final long updateBytes = allocatedBytes(update);
+        assertEquals(0L, updateBytes, "Updates allocated " + updateBytes + " bytes over " + MEASURED_FRAMES + " frames.");
+
+        final long limbCount = controller.getRig().getTemplate().getLimbCount();
+        final long frameBytes = allocatedBytes(frame);
+        final long graphicsBudget = MEASURED_FRAMES * limbCount * GRAPHICS_BYTES_PER_LIMB;
+        assertTrue(
+            frameBytes <= graphicsBudget,
+            "Frames allocated " + frameBytes + " bytes, more than the " + graphicsBudget + " bytes Graphics2D may allocate " +
+                "to draw " + limbCount + " limbs " + MEASURED_FRAMES + " times."
+        );
+    }
+
+    /**
+     * Count the bytes allocated by the current thread while running something for the measured frames.
+     *
+     * @param action The thing to run
+     * @return The bytes allocated
+     */
+    private long allocatedBytes(Runnable action) {
+        final long threadId = Thread.currentThread().getId();
+
+        // Measuring nothing first leaves out whatever the measuring itself allocates
+        final long overheadStart = threadBean.getThreadAllocatedBytes(threadId);
+        final long overhead = threadBean.getThreadAllocatedBytes(threadId) - overheadStart;
+
+        final long start = threadBean.getThreadAllocatedBytes(threadId);
+        for (int frameIndex = 0; frameIndex < MEASURED_FRAMES; frameIndex++) {
+            action.run();
+        }
+        return threadBean.getThreadAllocatedBytes(threadId) - start - overhead;
+    }
+}
@@ -0,0 +1,240 @@
+package com.andronikus.animation4j.animation;
+
+import com.andronikus.animation4j.animation.scenario.QwertyAnimationController;
+import com.andronikus.animation4j.rig.RigPose;
+import com.andronikus.animation4j.rig.scenario.QwertyAnimationRig;
+import com.andronikus.animation4j.stopmotion.scenario.QwertyState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that seeking an animation to a tick, and sampling it at a tick, pose a rig as replaying the animation tick by tick
+ * up to that tick does.
+ *
+ * @author Andronikus
+ */
+public class AnimationSeekTest {
+
+    // Ticks replayed, several cycles of every channel of the animation
+    private static final int REPLAYED_TICKS = 600;
+
+    // Values recorded per limb: rotation, fulcrum distance multiplier, width change, height change and both reflections
+    private static final int VALUES_PER_LIMB = 6;
+
+    private final QwertyState state = new QwertyState();
+    private QwertyAnimationRig replayedRig;
+    private QwertyAnimationRig seekedRig;
+    private Animation<Object, QwertyState> animation;
+
+    // Pose of the replayed rig at each tick, with the root rotation last
+    private final List<double[]> replayedPoses = new ArrayList<>();
+
+    /**
+     * Build an animation with looping channels of different lengths, channels that come to rest on end frames, snapping,
+     * reflection and size channels, and looping root rotation, then replay it tick by tick.
+     */
+    @BeforeEach
+    public void setUp() {
+        replayedRig = new QwertyAnimationRig(state);
+        seekedRig = new QwertyAnimationRig(state);
+        animation = new Animation<Object, QwertyState>()
+            .withRig(replayedRig)
+            .withRotationalKeyFrame(6L, 0)
+            .withRotationalKeyFrame(9L, Math.PI / 3)
+            .keyFrameBuilder()
+                .withJoint((short) 1)
+                .withDuration(4L)
+                .withWidthChange(0)
+                .withHeightChange(0)
+                .withFulcrumDistanceMultiplier(1.0)
+            .buildKeyFrame()
+            .keyFrameBuilder()
+                .withJoint((short) 1)
+                .withDuration(9L)
+                .withWidthChange(-6)
+                .withHeightChange(-8)
+                .withFulcrumDistanceMultiplier(1.5)
+                .withReflectX(true)
+            .buildKeyFrame()
+            .keyFrameBuilder()
+                .withJoint((short) 3)
+                .withDuration(7L)
+                .withJointRotation(0)
+            .buildKeyFrame()
+            .keyFrameBuilder()
+                .withJoint((short) 3)
+                .withDuration(11L)
+                .withJointRotation(-Math.PI / 2)
+            .buildKeyFrame()
+            .keyFrameBuilder()
+                .withJoint((short) 3)
+                .withDuration(5L)
+                .withSnapTo(true)
+                .withJointRotation(Math.PI / 4)
+            .buildKeyFrame()
+            .keyFrameBuilder()
+                .withJoint((short) 4)
+                .withDuration(10L)
+                .withJointRotation(0)
+            .buildKeyFrame()
+            .keyFrameBuilder()
+                .withJoint((short) 4)
+                .withDuration(20L)
+                .withJointRotation(Math.PI / -2)
+                .withReflectY(true)
+            .buildKeyFrame()
+            .keyFrameBuilder()
+                .withJoint((short) 4)
+                .withDuration(null)
+                .withJointRotation(Math.PI)
+            .buildKeyFrame()
+            .finishAnimating();
+
+        final AnimationCursor replayCursor = animation.getClip().createCursor();
+        for (int tick = 0; tick < REPLAYED_TICKS; tick++) {
+            final double rootRotation = animation.applyPose(replayedRig, replayCursor);
+            replayedPoses.add(recordPose(replayedRig.getPose(), rootRotation));
+            replayCursor.tick();
+        }
+    }
+
+    /**
+     * Seeking a cursor to each tick, in order, poses the rig as replaying does.
+     */
+    @Test
+    public void seekForwardMatchesReplay() {
+        final AnimationCursor seekCursor = animation.getClip().createCursor();
+        for (int tick = 0; tick < REPLAYED_TICKS; tick++) {
+            assertSeekMatchesReplay(seekCursor, tick);
+        }
+    }
+
+    /**
+     * Seeking one cursor back and forth to ticks in any order, across cycles and past end frames, poses the rig as
+     * replaying does.
+     */
+    @Test
+    public void seekInAnyOrderMatchesReplay() {
+        final AnimationCursor seekCursor = animation.getClip().createCursor();
+        for (int tick = REPLAYED_TICKS - 1; tick >= 0; tick--) {
+            assertSeekMatchesReplay(seekCursor, tick);
+        }
+
+        final Random random = new Random(2L);
+        for (int seek = 0; seek < REPLAYED_TICKS; seek++) {
+            assertSeekMatchesReplay(seekCursor, random.nextInt(REPLAYED_TICKS));
+        }
+    }
+
+    /**
+     * Sampling each tick poses the rig as replaying does, leaving out the root rotation, which is not part of the pose.
+     */
+    @Test
+    public void sampleAtMatchesReplay() {
+        for (int tick = REPLAYED_TICKS - 1; tick >= 0; tick--) {
+            animation.sampleAt(seekedRig, tick);
+            final double[] expectedPose = replayedPoses.get(tick);
+            final double[] sampledPose = recordPose(seekedRig.getPose(), expectedPose[expectedPose.length - 1]);
+            assertArrayEquals(expectedPose, sampledPose, "Pose sampled at tick " + tick);
+        }
+    }
+
+    /**
+     * Seeking a controller to the tick another controller has been updated to, one tick at a time, poses the rig as the
+     * other on the next update. QWERTY loops its second animation, so later seeks jump over many of its cycles.
+     */
+    @Test
+    public void controllerSeekMatchesUpdates() {
+        final QwertyState seekedState = new QwertyState();
+        final QwertyState updatedState = new QwertyState();
+        final TickedQwertyController seekedController = new TickedQwertyController(seekedState);
+        final TickedQwertyController updatedController = new TickedQwertyController(updatedState);
+        final Object context = new Object();
+
+        // Both leave the idle animation for the looping one, which lasts 40 ticks
+        for (int update = 0; update < 40; update++) {
+            seekedController.update(context, seekedState);
+            updatedController.update(context, updatedState);
+        }
+
+        for (long updates : new long[] {1L, 3L, 17L, 40L, 41L, 123L, 400L}) {
+            for (long update = 0; update < updates; update++) {
+                updatedController.update(context, updatedState);
+            }
+
+            final long tick = updatedController.activeAnimationTicks();
+            seekedController.seek(tick);
+            seekedController.update(context, seekedState);
+            updatedController.update(context, updatedState);
+
+            assertEquals(
+                updatedController.activeAnimationTicks(),
+                seekedController.activeAnimationTicks(),
+                "Ticks after seeking to tick " + tick + " of the looping animation"
+            );
+            assertArrayEquals(
+                recordPose(updatedController.getRig().getPose(), 0.0),
+                recordPose(seekedController.getRig().getPose(), 0.0),
+                "Pose after seeking to tick " + tick + " of the looping animation"
+            );
+        }
+    }
+
+    /**
+     * Seek a cursor to a tick and check that the rig is posed as replaying posed it at that tick.
+     *
+     * @param seekCursor The cursor to seek
+     * @param tick The tick
+     */
+    private void assertSeekMatchesReplay(AnimationCursor seekCursor, int tick) {
+        animation.getClip().seek(seekCursor, tick);
+        assertEquals(tick, seekCursor.getTicks(), "Ticks of the cursor sought to tick " + tick);
+
+        final double rootRotation = animation.applyPose(seekedRig, seekCursor);
+        assertArrayEquals(replayedPoses.get(tick), recordPose(seekedRig.getPose(), rootRotation), "Pose sought to tick " + tick);
+    }
+
+    /**
+     * Record the values of every limb of a pose.
+     *
+     * @param pose The pose
+     * @param rootRotation Rotation of the whole rig
+     * @return The values, with the root rotation last
+     */
+    private static double[] recordPose(RigPose<Object, QwertyState> pose, double rootRotation) {
+        final int limbCount = pose.getTemplate().getLimbCount();
+        final double[] values = new double[limbCount * VALUES_PER_LIMB + 1];
+        for (int limbIndex = 0; limbIndex < limbCount; limbIndex++) {
+            final int offset = limbIndex * VALUES_PER_LIMB;
+            values[offset] = pose.getRotation(limbIndex);
+            values[offset + 1] = pose.getFulcrumDistanceMultiplier(limbIndex);
+            values[offset + 2] = pose.getWidthChange(limbIndex);
+            values[offset + 3] = pose.getHeightChange(limbIndex);
+            values[offset + 4] = pose.isReflectX(limbIndex) ? 1 : 0;
+            values[offset + 5] = pose.isReflectY(limbIndex) ? 1 : 0;
+        }
+        values[values.length - 1] = rootRotation;
+        return values;
+    }
+
+    /**
+     * QWERTY controller whose ticks on its active animation can be checked.
+     */
+    private static final class TickedQwertyController extends QwertyAnimationController {
+
+        private TickedQwertyController(QwertyState state) {
+            super(state);
+        }
+
+        private long activeAnimationTicks() {
+            return getActiveStateTicks();
+        }
+    }
+}
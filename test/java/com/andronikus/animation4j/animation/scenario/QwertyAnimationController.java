@@ -50,6 +50,14 @@ public class QwertyAnimationController extends AnimationController<Object, Qwert
         return idleAnimation.finishAnimating();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean sharesStateGraph() {
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -59,6 +59,11 @@ public class PusherArmStopMotionController extends StopMotionController<Object,
         return neutralState;
     }
 
+    @Override
+    protected boolean sharesStateGraph() {
+        return true;
+    }
+
     @Override
     public boolean checkIfObjectIsRoot(RetractablePusher object) {
         return true;
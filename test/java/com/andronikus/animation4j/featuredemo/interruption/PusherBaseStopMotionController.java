@@ -44,7 +44,9 @@ public class PusherBaseStopMotionController extends StopMotionController<Object,
             .addFrame(1L, (spriteSheet, state) -> spriteSheet.getBrokenSprite())
             .addFrame(null, (spriteSheet, state) -> spriteSheet.getBrokenSprite());
 
+        // Every breaking frame is a fixed tile of the sprite sheet, so each only needs to be fetched once
         breakingState
+            .withCachedSprites(true)
             .addFrame(7L, PusherBaseSpriteSheet::getBreakingSprite)
             .addFrame(6L, PusherBaseSpriteSheet::getBreakingSprite)
             .addFrame(6L, PusherBaseSpriteSheet::getBreakingSprite)
@@ -59,6 +61,11 @@ public class PusherBaseStopMotionController extends StopMotionController<Object,
         return neutralState;
     }
 
+    @Override
+    protected boolean sharesStateGraph() {
+        return true;
+    }
+
     @Override
     public boolean checkIfObjectIsRoot(RetractablePusher object) {
         return true;
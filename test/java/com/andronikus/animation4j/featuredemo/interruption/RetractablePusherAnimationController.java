@@ -139,6 +139,11 @@ public class RetractablePusherAnimationController extends AnimationController<Ob
             .finishAnimating();
     }
 
+    @Override
+    protected boolean sharesStateGraph() {
+        return true;
+    }
+
     @Override
     public boolean checkIfObjectIsRoot(RetractablePusher object) {
         return true;
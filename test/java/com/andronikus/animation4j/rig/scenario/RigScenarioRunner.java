@@ -56,20 +56,21 @@ public class RigScenarioRunner extends JPanel implements ActionListener {
         graphics.setColor(Color.CYAN);
         ((Graphics2D) graphics).setStroke(new BasicStroke());
 
-        // Note, this is not proper. Normally don't want to call the rig like this for stop motion reasons
-        rig.renderFromCenter(context, new Object(), qwertyState, 400, 500, 0);
+        // Stop motion limbs advance once per paint, however many times the rig is drawn
+        rig.updateImages(new Object(), qwertyState);
+        rig.renderPosed(context, 400, 500, 0);
         if (torsoBox) {
             graphics.drawRect(400 - 16, this.getHeight() - (500 + 32), 32, 64);
         }
-        rig.renderFromCenter(context, new Object(), qwertyState, 800, 500, !doTilts ? 0 : Math.PI / 4);
+        rig.renderPosed(context, 800, 500, !doTilts ? 0 : Math.PI / 4);
         if (torsoBox) {
             graphics.drawRect(800 - 16, this.getHeight() - (500 + 32), 32, 64);
         }
-        rig.renderFromCenter(context, new Object(), qwertyState, 400, 200, !doTilts ? 0 : Math.PI / 2);
+        rig.renderPosed(context, 400, 200, !doTilts ? 0 : Math.PI / 2);
         if (torsoBox) {
             graphics.drawRect(400 - 16, this.getHeight() - (200 + 32), 32, 64);
         }
-        rig.renderFromCenter(context, new Object(), qwertyState, 800, 200, !doTilts ? 0 : Math.PI);
+        rig.renderPosed(context, 800, 200, !doTilts ? 0 : Math.PI);
         if (torsoBox) {
             graphics.drawRect(800 - 16, this.getHeight() - (200 + 32), 32, 64);
         }
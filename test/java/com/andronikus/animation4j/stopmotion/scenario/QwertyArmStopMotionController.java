@@ -27,6 +27,11 @@ public class QwertyArmStopMotionController extends StopMotionController<Object,
         return neutralState;
     }
 
+    @Override
+    protected boolean sharesStateGraph() {
+        return true;
+    }
+
     @Override
     public boolean checkIfObjectIsRoot(QwertyState object) {
         return true;
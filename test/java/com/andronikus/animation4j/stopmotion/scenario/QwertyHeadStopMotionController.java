@@ -50,6 +50,11 @@ public class QwertyHeadStopMotionController extends StopMotionController<Object,
         return idleState;
     }
 
+    @Override
+    protected boolean sharesStateGraph() {
+        return true;
+    }
+
     @Override
     public boolean checkIfObjectIsRoot(QwertyState object) {
         return true;